@@ -0,0 +1,46 @@
+package br.com.microservices.choreography.inventoryservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(value = "app.lanes.isolated-pools", havingValue = "true")
+public class DataSourceConfig {
+
+    private static final String FORWARD_POOL = "forward";
+    private static final String COMPENSATION_POOL = "compensation";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource forwardDataSource(DataSourceProperties properties) {
+        return createDataSource(properties, FORWARD_POOL);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.lanes.compensation.hikari")
+    public HikariDataSource compensationDataSource(DataSourceProperties properties) {
+        return createDataSource(properties, COMPENSATION_POOL);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource forwardDataSource, HikariDataSource compensationDataSource) {
+        return new LaneRoutingDataSource(forwardDataSource, compensationDataSource);
+    }
+
+    private HikariDataSource createDataSource(DataSourceProperties properties, String poolName) {
+        var dataSource = properties
+                .initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.microservices.choreography.inventoryservice.config.datasource;
+
+import br.com.microservices.choreography.inventoryservice.core.enums.ELane;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class LaneRoutingDataSource extends AbstractRoutingDataSource {
+
+    public LaneRoutingDataSource(DataSource forwardDataSource, DataSource compensationDataSource) {
+        setTargetDataSources(Map.of(
+                ELane.FORWARD, forwardDataSource,
+                ELane.COMPENSATION, compensationDataSource));
+        setDefaultTargetDataSource(forwardDataSource);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return LaneContext.get();
+    }
+}
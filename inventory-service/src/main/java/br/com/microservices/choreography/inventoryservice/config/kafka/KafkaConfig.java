@@ -1,28 +1,49 @@
 package br.com.microservices.choreography.inventoryservice.config.kafka;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.inventoryservice.config.datasource.DatabaseCircuitBreaker;
+import br.com.microservices.choreography.inventoryservice.core.enums.ELane;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.AfterRollbackProcessor;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.springframework.util.ObjectUtils.isEmpty;
+
 @RequiredArgsConstructor
 @Configuration
 @EnableKafka
 public class KafkaConfig {
 
     private static final Integer REPLICA_COUNT = 1;
-    private static final Integer PARTITIONS_COUNT = 1;
+    private static final String DEAD_LETTER_SUFFIX = ".DLT";
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
@@ -33,6 +54,45 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${app.kafka.consumer.cooperative-rebalancing}")
+    private boolean cooperativeRebalancing;
+
+    @Value("${app.kafka.consumer.group-instance-id}")
+    private String groupInstanceId;
+
+    @Value("${app.kafka.consumer.session-timeout-ms}")
+    private int sessionTimeoutMs;
+
+    @Value("${app.kafka.consumer.shutdown-timeout-ms}")
+    private long shutdownTimeoutMs;
+
+    @Value("${app.lanes.forward.concurrency}")
+    private int forwardConcurrency;
+
+    @Value("${app.lanes.compensation.concurrency}")
+    private int compensationConcurrency;
+
+    @Value("${app.db-circuit-breaker.probe-interval-ms}")
+    private long databaseProbeIntervalMs;
+
+    @Value("${app.kafka.topic.partitions}")
+    private int partitionsCount;
+
+    @Value("${app.kafka.producer.compression-type}")
+    private String compressionType;
+
+    @Value("${app.kafka.producer.max-request-size}")
+    private int maxRequestSize;
+
+    @Value("${app.kafka.exactly-once.enabled}")
+    private boolean exactlyOnce;
+
+    @Value("${app.kafka.exactly-once.transaction-id-prefix}")
+    private String transactionIdPrefix;
+
+    @Value("${app.kafka.exactly-once.retry-backoff-ms}")
+    private long transactionRetryBackoffMs;
+
     @Value("${spring.kafka.topic.inventory-success}")
     private String inventorySuccessTopic;
 
@@ -45,6 +105,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.topic.notify-ending}")
     private String notifyEndingTopic;
 
+    @Value("${spring.kafka.topic.inventory-stock}")
+    private String inventoryStockTopic;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
@@ -57,12 +120,104 @@ public class KafkaConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, sessionTimeoutMs);
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, maxRequestSize);
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, Math.max(maxRequestSize, ConsumerConfig.DEFAULT_FETCH_MAX_BYTES));
+        if (exactlyOnce) {
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
+        if (cooperativeRebalancing) {
+            props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        }
         return props;
     }
 
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer(
+            ProducerFactory<String, String> producerFactory,
+            DedupeCache dedupeCache) {
+        return container -> {
+            var containerProperties = container.getContainerProperties();
+            containerProperties.setShutdownTimeout(shutdownTimeoutMs);
+            containerProperties.setConsumerRebalanceListener(dedupeCache);
+            if (exactlyOnce) {
+                containerProperties.setTransactionManager(new KafkaTransactionManager<>(producerFactory));
+            }
+            if (!isEmpty(groupInstanceId)) {
+                var topics = String.join("-", containerProperties.getTopics());
+                containerProperties
+                        .getKafkaConsumerProperties()
+                        .setProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId + "-" + topics);
+            }
+        };
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        var factory = createListenerContainerFactory(configurer, consumerFactory, kafkaContainerCustomizer);
+        factory.setConcurrency(forwardConcurrency);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> compensationListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        var factory = createListenerContainerFactory(configurer, consumerFactory, kafkaContainerCustomizer);
+        factory.setConcurrency(compensationConcurrency);
+        factory.setRecordInterceptor(new LaneRecordInterceptor(ELane.COMPENSATION));
+        return factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> createListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        configurer.configure(factory, (ConsumerFactory<Object, Object>) (ConsumerFactory<?, ?>) consumerFactory);
+        factory.setContainerCustomizer(kafkaContainerCustomizer);
+        return factory;
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer kafkaDeadLetterRecoverer(KafkaTemplate<String, String> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, -1));
+    }
+
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(DeadLetterPublishingRecoverer kafkaDeadLetterRecoverer) {
+        var errorHandler = new DefaultErrorHandler(kafkaDeadLetterRecoverer);
+        errorHandler.setBackOffFunction(this::databaseUnavailableBackOff);
+        return errorHandler;
+    }
+
+    @Bean
+    public AfterRollbackProcessor<Object, Object> kafkaAfterRollbackProcessor() {
+        var afterRollbackProcessor = new DefaultAfterRollbackProcessor<Object, Object>();
+        afterRollbackProcessor.setBackOffFunction(this::databaseUnavailableBackOff);
+        return afterRollbackProcessor;
+    }
+
+    private BackOff databaseUnavailableBackOff(ConsumerRecord<?, ?> record, Exception ex) {
+        if (!DatabaseCircuitBreaker.isDatabaseFailure(ex)) {
+            return null;
+        }
+        return new FixedBackOff(databaseProbeIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS);
+    }
+
     @Bean
     public ProducerFactory<String, String> producerFactory() {
-        return new DefaultKafkaProducerFactory<>(producerProps());
+        var producerFactory = new DefaultKafkaProducerFactory<String, String>(producerProps());
+        if (exactlyOnce) {
+            producerFactory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return producerFactory;
     }
 
     private Map<String, Object> producerProps() {
@@ -70,19 +225,29 @@ public class KafkaConfig {
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, maxRequestSize);
+        if (exactlyOnce) {
+            // Adding a partition right after the previous transaction commits is answered with
+            // CONCURRENT_TRANSACTIONS until the markers are written, and the producer waits this long to retry.
+            props.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, transactionRetryBackoffMs);
+        }
         return props;
     }
 
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
-        return new KafkaTemplate<>(producerFactory);
+        var kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setAllowNonTransactional(true);
+        return kafkaTemplate;
     }
 
     private NewTopic buildTopic(String name) {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITIONS_COUNT)
+                .partitions(partitionsCount)
+                .config(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, String.valueOf(maxRequestSize))
                 .build();
     }
 
@@ -96,6 +261,16 @@ public class KafkaConfig {
         return buildTopic(inventoryFailTopic);
     }
 
+    @Bean
+    public NewTopic inventorySuccessDeadLetterTopic() {
+        return buildTopic(inventorySuccessTopic + DEAD_LETTER_SUFFIX);
+    }
+
+    @Bean
+    public NewTopic inventoryFailDeadLetterTopic() {
+        return buildTopic(inventoryFailTopic + DEAD_LETTER_SUFFIX);
+    }
+
     @Bean
     public NewTopic paymentFailTopic() {
         return buildTopic(paymentFailTopic);
@@ -105,4 +280,14 @@ public class KafkaConfig {
     public NewTopic notifyEndingTopic() {
         return buildTopic(notifyEndingTopic);
     }
+
+    @Bean
+    public NewTopic inventoryStockTopic() {
+        return TopicBuilder
+                .name(inventoryStockTopic)
+                .replicas(REPLICA_COUNT)
+                .partitions(partitionsCount)
+                .compact()
+                .build();
+    }
 }
@@ -0,0 +1,128 @@
+package br.com.microservices.choreography.inventoryservice.config.kafka;
+
+import br.com.microservices.choreography.inventoryservice.config.datasource.LaneRoutingDataSource;
+import br.com.microservices.choreography.inventoryservice.core.enums.ELane;
+import br.com.microservices.choreography.inventoryservice.core.enums.ELanePriority;
+import br.com.microservices.choreography.inventoryservice.core.enums.EPauseReason;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ContainerGroup;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LanePriorityController {
+
+    private static final String FORWARD_LANE_GROUP = "forwardLane";
+    static final String COMPENSATION_LANE_GROUP = "compensationLane";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ContainerPauseRegistry pauseRegistry;
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.lanes.compensation.priority}")
+    private ELanePriority compensationPriority;
+
+    @Value("${app.lanes.compensation.lag-threshold}")
+    private double lagThreshold;
+
+    private volatile boolean forwardPaused;
+
+    @PostConstruct
+    public void registerMetrics() {
+        for (var lane : ELane.values()) {
+            Gauge.builder("lane.saturation", () -> getPoolSaturation(lane))
+                    .description("Share of the lane's connection pool currently in use")
+                    .tag("lane", lane.name())
+                    .register(meterRegistry);
+            Gauge.builder("lane.lag", () -> getLag(lane))
+                    .description("Highest consumer lag among the lane's listener containers")
+                    .tag("lane", lane.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.lanes.compensation.priority-check-interval-ms}",
+            initialDelayString = "${app.lanes.compensation.priority-check-interval-ms}")
+    public void applyPriority() {
+        if (!ELanePriority.HIGH.equals(compensationPriority)) {
+            return;
+        }
+        var compensationLag = getLag(ELane.COMPENSATION);
+        if (!forwardPaused && compensationLag > lagThreshold) {
+            log.info("Compensation lane lag {} above {}, pausing forward lane.", compensationLag, lagThreshold);
+            getContainers(ELane.FORWARD)
+                    .forEach(container -> pauseRegistry.pause(container, EPauseReason.LANE_PRIORITY));
+            forwardPaused = true;
+            Counter.builder("lane.forward.pauses")
+                    .description("Times the forward lane yielded to the compensation lane")
+                    .register(meterRegistry)
+                    .increment();
+        } else if (forwardPaused && compensationLag <= lagThreshold) {
+            log.info("Compensation lane drained, resuming forward lane.");
+            getContainers(ELane.FORWARD)
+                    .forEach(container -> pauseRegistry.resume(container, EPauseReason.LANE_PRIORITY));
+            forwardPaused = false;
+        }
+    }
+
+    private double getLag(ELane lane) {
+        return getContainers(lane)
+                .stream()
+                .filter(MessageListenerContainer::isRunning)
+                .mapToDouble(ListenerLag::max)
+                .max()
+                .orElse(0);
+    }
+
+    private List<MessageListenerContainer> getContainers(ELane lane) {
+        var groupName = ELane.COMPENSATION.equals(lane) ? COMPENSATION_LANE_GROUP : FORWARD_LANE_GROUP;
+        if (!applicationContext.containsBean(groupName)) {
+            return List.of();
+        }
+        return applicationContext.getBean(groupName, ContainerGroup.class)
+                .getListenerIds()
+                .stream()
+                .map(registry::getListenerContainer)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private double getPoolSaturation(ELane lane) {
+        try {
+            var pool = getPool(lane);
+            var poolBean = pool.getHikariPoolMXBean();
+            if (poolBean == null || pool.getMaximumPoolSize() == 0) {
+                return 0;
+            }
+            return (double) poolBean.getActiveConnections() / pool.getMaximumPoolSize();
+        } catch (SQLException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private HikariDataSource getPool(ELane lane) throws SQLException {
+        if (dataSource instanceof LaneRoutingDataSource routingDataSource) {
+            return routingDataSource.getResolvedDataSources().get(lane).unwrap(HikariDataSource.class);
+        }
+        return dataSource.unwrap(HikariDataSource.class);
+    }
+}
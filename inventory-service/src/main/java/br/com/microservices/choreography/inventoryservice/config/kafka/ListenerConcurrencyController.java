@@ -0,0 +1,229 @@
+package br.com.microservices.choreography.inventoryservice.config.kafka;
+
+import br.com.microservices.choreography.inventoryservice.config.datasource.LaneRoutingDataSource;
+import br.com.microservices.choreography.inventoryservice.core.consumer.OrderedEventDispatcher;
+import br.com.microservices.choreography.inventoryservice.core.enums.ELane;
+import br.com.microservices.choreography.inventoryservice.core.enums.EPauseReason;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerGroup;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListenerConcurrencyController {
+
+    private static final String LISTENER_TIMER = "spring.kafka.listener";
+    private static final String RECORD_TIMER = "listener.record.latency";
+    private static final long PAUSE_CHECK_INTERVAL_MS = 50;
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ContainerPauseRegistry pauseRegistry;
+    private final OrderedEventDispatcher dispatcher;
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencySample> latencySamples = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAdjustments = new ConcurrentHashMap<>();
+
+    @Value("${app.kafka.adaptive-concurrency.enabled}")
+    private boolean enabled;
+
+    @Value("${app.kafka.adaptive-concurrency.min}")
+    private int minConcurrency;
+
+    @Value("${app.kafka.adaptive-concurrency.max}")
+    private int maxConcurrency;
+
+    @Value("${app.kafka.adaptive-concurrency.lag-threshold}")
+    private double lagThreshold;
+
+    @Value("${app.kafka.adaptive-concurrency.latency-target-ms}")
+    private double latencyTargetMs;
+
+    @Value("${app.kafka.adaptive-concurrency.decrease-factor}")
+    private double decreaseFactor;
+
+    @Value("${app.kafka.adaptive-concurrency.cooldown-ms}")
+    private long cooldownMs;
+
+    @Value("${app.kafka.consumer.shutdown-timeout-ms}")
+    private long drainTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${app.kafka.adaptive-concurrency.sample-interval-ms}",
+            initialDelayString = "${app.kafka.adaptive-concurrency.sample-interval-ms}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        registry.getListenerContainers()
+                .stream()
+                .filter(MessageListenerContainer::isRunning)
+                .filter(ConcurrentMessageListenerContainer.class::isInstance)
+                .map(container -> (ConcurrentMessageListenerContainer<?, ?>) container)
+                .forEach(this::adjust);
+    }
+
+    private void adjust(ConcurrentMessageListenerContainer<?, ?> container) {
+        var listenerId = container.getListenerId();
+        registerGauge(container);
+        var lag = ListenerLag.max(container);
+        var latencyMs = getLatencyMs(container);
+        if (System.currentTimeMillis() - lastAdjustments.getOrDefault(listenerId, 0L) < cooldownMs) {
+            return;
+        }
+        var current = container.getConcurrency();
+        var assignedPartitions = container.getAssignedPartitions() == null
+                ? 0 : container.getAssignedPartitions().size();
+        var ceiling = Math.max(minConcurrency, Math.min(maxConcurrency,
+                Math.min(assignedPartitions, getPoolSize(container) - getOtherConcurrency(container))));
+        int target;
+        if (latencyMs > latencyTargetMs || lag < lagThreshold) {
+            target = Math.max(minConcurrency, (int) Math.floor(current * decreaseFactor));
+        } else {
+            target = Math.min(ceiling, current + 1);
+        }
+        if (target == current) {
+            return;
+        }
+        log.info("Scaling listener {} from {} to {} consumers | LAG {} | LATENCY {} ms | CEILING {}",
+                listenerId, current, target, lag, latencyMs, ceiling);
+        if (!rescale(container, target)) {
+            return;
+        }
+        lastAdjustments.put(listenerId, System.currentTimeMillis());
+        Counter.builder("listener.concurrency.adjustments")
+                .description("Adaptive concurrency scaling decisions")
+                .tag("listener", listenerId)
+                .tag("direction", target > current ? "up" : "down")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Restarts the container with the new consumer count once the parallel dispatcher has finished the records it
+     * already fetched. Stopping earlier would drop their async acks, and the replayed records would then collide
+     * with the transactions still running on the dispatcher's worker lanes.
+     */
+    private boolean rescale(ConcurrentMessageListenerContainer<?, ?> container, int target) {
+        pauseRegistry.pause(container, EPauseReason.RESCALE);
+        try {
+            var deadline = System.currentTimeMillis() + drainTimeoutMs;
+            while (container.isRunning() && !container.isContainerPaused()
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(PAUSE_CHECK_INTERVAL_MS);
+            }
+            if (!dispatcher.awaitIdle(Math.max(0, deadline - System.currentTimeMillis()))) {
+                log.warn("Saga events of listener {} still in flight after {} ms, skipping the rescale.",
+                        container.getListenerId(), drainTimeoutMs);
+                return false;
+            }
+            container.stop();
+            container.setConcurrency(target);
+            container.start();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            pauseRegistry.resume(container, EPauseReason.RESCALE);
+        }
+    }
+
+    private void registerGauge(ConcurrentMessageListenerContainer<?, ?> container) {
+        Gauge.builder("listener.concurrency", container, ConcurrentMessageListenerContainer::getConcurrency)
+                .description("Current consumer count of the listener container")
+                .tag("listener", container.getListenerId())
+                .register(meterRegistry);
+    }
+
+    private double getLatencyMs(ConcurrentMessageListenerContainer<?, ?> container) {
+        var listenerId = container.getListenerId();
+        var timers = getRecordTimers(container);
+        if (timers.isEmpty()) {
+            timers = meterRegistry.find(LISTENER_TIMER).timers()
+                    .stream()
+                    .filter(timer -> timer.getId().getTag("name") != null
+                            && timer.getId().getTag("name").startsWith(listenerId + "-"))
+                    .toList();
+        }
+        var count = timers.stream().mapToLong(Timer::count).sum();
+        var totalMs = timers.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+        var previous = latencySamples.put(listenerId, new LatencySample(count, totalMs));
+        if (previous == null || count <= previous.count()) {
+            return 0;
+        }
+        return (totalMs - previous.totalMs()) / (count - previous.count());
+    }
+
+    private List<Timer> getRecordTimers(ConcurrentMessageListenerContainer<?, ?> container) {
+        var topics = container.getContainerProperties().getTopics();
+        if (topics == null) {
+            return List.of();
+        }
+        var topicNames = Set.of(topics);
+        return meterRegistry.find(RECORD_TIMER).timers()
+                .stream()
+                .filter(timer -> topicNames.contains(timer.getId().getTag("topic")))
+                .toList();
+    }
+
+    private int getOtherConcurrency(ConcurrentMessageListenerContainer<?, ?> container) {
+        var lane = getLane(container);
+        return registry.getListenerContainers()
+                .stream()
+                .filter(other -> other instanceof ConcurrentMessageListenerContainer<?, ?>
+                        && other.isRunning()
+                        && !container.getListenerId().equals(other.getListenerId()))
+                .filter(other -> !(dataSource instanceof LaneRoutingDataSource) || lane.equals(getLane(other)))
+                .mapToInt(other -> ((ConcurrentMessageListenerContainer<?, ?>) other).getConcurrency())
+                .sum();
+    }
+
+    private int getPoolSize(ConcurrentMessageListenerContainer<?, ?> container) {
+        try {
+            if (dataSource instanceof LaneRoutingDataSource routingDataSource) {
+                return routingDataSource.getResolvedDataSources()
+                        .get(getLane(container))
+                        .unwrap(HikariDataSource.class)
+                        .getMaximumPoolSize();
+            }
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException ex) {
+            return maxConcurrency;
+        }
+    }
+
+    private ELane getLane(MessageListenerContainer container) {
+        var groupName = LanePriorityController.COMPENSATION_LANE_GROUP;
+        return applicationContext.containsBean(groupName)
+                && applicationContext.getBean(groupName, ContainerGroup.class)
+                .getListenerIds()
+                .contains(container.getListenerId())
+                ? ELane.COMPENSATION
+                : ELane.FORWARD;
+    }
+
+    private record LatencySample(long count, double totalMs) {
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.microservices.choreography.inventoryservice.core.consumer;
+
+import br.com.microservices.choreography.inventoryservice.config.datasource.DatabaseCircuitBreaker;
+import br.com.microservices.choreography.inventoryservice.core.dto.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderedEventDispatcher {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int INITIAL_QUEUE_CAPACITY = 64;
+    private static final Comparator<Runnable> FRESHEST_FIRST = Comparator
+            .comparing((Runnable task) -> ((DispatchedEvent) task).deadline(),
+                    Comparator.nullsFirst(Comparator.<LocalDateTime>reverseOrder()))
+            .thenComparingLong(task -> ((DispatchedEvent) task).sequence());
+
+    private static final String RECORD_TIMER = "listener.record.latency";
+
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final ConsumerRecordRecoverer kafkaDeadLetterRecoverer;
+    private final List<ExecutorService> lanes = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Value("${app.kafka.parallel.enabled}")
+    private boolean enabled;
+
+    @Value("${app.kafka.parallel.workers}")
+    private int workers;
+
+    @Value("${app.kafka.parallel.max-in-flight}")
+    private int maxInFlight;
+
+    @Value("${app.kafka.parallel.freshest-first}")
+    private boolean freshestFirst;
+
+    @Value("${app.kafka.exactly-once.enabled}")
+    private boolean exactlyOnce;
+
+    private Semaphore inFlight;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (exactlyOnce) {
+            throw new IllegalStateException(
+                    "Parallel processing cannot be combined with exactly-once processing, "
+                            + "records must be handled on the consumer thread that owns the Kafka transaction.");
+        }
+        inFlight = new Semaphore(maxInFlight);
+        for (var index = 0; index < workers; index++) {
+            var lane = index;
+            lanes.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, createQueue(), runnable -> {
+                var thread = new Thread(runnable, "saga-worker-" + lane);
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+        log.info("Dispatching saga events to {} ordered lanes with up to {} records in flight.", workers, maxInFlight);
+    }
+
+    private BlockingQueue<Runnable> createQueue() {
+        return freshestFirst
+                ? new PriorityBlockingQueue<>(INITIAL_QUEUE_CAPACITY, FRESHEST_FIRST)
+                : new LinkedBlockingQueue<>();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (var lane : lanes) {
+            lane.shutdown();
+        }
+        for (var lane : lanes) {
+            if (!lane.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Saga worker lane did not drain in {} seconds.", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        }
+    }
+
+    public boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        if (!enabled) {
+            return true;
+        }
+        if (!inFlight.tryAcquire(maxInFlight, timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        inFlight.release(maxInFlight);
+        return true;
+    }
+
+    public void dispatch(ConsumerRecord<String, String> record, Event event, Consumer<Event> handler,
+                         Acknowledgment acknowledgment) {
+        var timer = getRecordTimer(record.topic());
+        if (!enabled) {
+            timer.record(() -> handler.accept(event));
+            acknowledgment.acknowledge();
+            return;
+        }
+        inFlight.acquireUninterruptibly();
+        laneFor(event).execute(new DispatchedEvent(event.getDeadline(), sequence.incrementAndGet(), () -> {
+            var processed = true;
+            var sample = Timer.start(meterRegistry);
+            try {
+                databaseCircuitBreaker.retryWhileUnavailable(() -> handler.accept(event));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                processed = false;
+                log.warn("Event {} for order {} interrupted while the database was unavailable, it will be replayed.",
+                        event.getId(), event.getPayload().getId());
+            } catch (Exception ex) {
+                processed = deadLetter(record, event, ex);
+            } finally {
+                sample.stop(timer);
+                if (processed) {
+                    acknowledgment.acknowledge();
+                }
+                inFlight.release();
+            }
+        }));
+    }
+
+    /**
+     * Worker lanes run off the consumer thread, so a failure cannot reach the container's error handler. The
+     * record goes to the same dead letter topic instead, and stays unacknowledged for a replay if that fails.
+     */
+    private boolean deadLetter(ConsumerRecord<String, String> record, Event event, Exception ex) {
+        log.error("Error trying to process event {} for order {}, sending it to the dead letter topic.",
+                event.getId(), event.getPayload().getId(), ex);
+        try {
+            kafkaDeadLetterRecoverer.accept(record, ex);
+            return true;
+        } catch (Exception deadLetterEx) {
+            log.error("Event {} for order {} could not be dead lettered, it will be replayed.",
+                    event.getId(), event.getPayload().getId(), deadLetterEx);
+            return false;
+        }
+    }
+
+        private Timer getRecordTimer(String topic) {
+        return Timer.builder(RECORD_TIMER)
+                .description("Time spent handling a single record, excluding the time it waited for a worker")
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+
+    private ExecutorService laneFor(Event event) {
+        return lanes.get(Math.floorMod(event.getPayload().getId().hashCode(), lanes.size()));
+    }
+
+    private record DispatchedEvent(LocalDateTime deadline, long sequence, Runnable task) implements Runnable {
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
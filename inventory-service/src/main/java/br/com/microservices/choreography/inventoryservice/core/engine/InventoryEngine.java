@@ -0,0 +1,249 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.choreography.inventoryservice.core.dto.Event;
+import br.com.microservices.choreography.inventoryservice.core.dto.OrderProducts;
+import br.com.microservices.choreography.inventoryservice.core.enums.EJournalOperation;
+import br.com.microservices.choreography.inventoryservice.core.producer.StockLevelProducer;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.OrderInventoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.groupingBy;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEngine {
+
+    private static final String RESERVATION_KEY = "%s_%s";
+
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final InventoryJournal journal;
+    private final StockLevelProducer stockLevelProducer;
+    private final DedupeCache dedupeCache;
+
+    private final List<InventoryEngineShard> shards = new ArrayList<>();
+
+    @Value("${app.inventory.engine.enabled}")
+    private boolean enabled;
+
+    @Value("${app.inventory.engine.shards}")
+    private int shardCount;
+
+    @Value("${app.inventory.engine.reservation-index-size}")
+    private int reservationIndexSize;
+
+    @Value("${app.inventory.striping.enabled}")
+    private boolean stripingEnabled;
+
+    private Set<String> reservedKeys;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (stripingEnabled) {
+            throw new IllegalStateException(
+                    "The inventory engine cannot be combined with inventory striping, "
+                            + "stripe rebalancing would overwrite the quantities applied from the journal.");
+        }
+        journal.recover();
+        reservedKeys = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > reservationIndexSize;
+            }
+        }));
+        for (var index = 0; index < shardCount; index++) {
+            shards.add(new InventoryEngineShard(index, stockLevelProducer::sendStockLevel));
+        }
+        var loads = inventoryRepository
+                .findAll()
+                .stream()
+                .map(inventory -> shardFor(inventory.getProductCode()).load(inventory))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(loads).join();
+        log.info("Inventory engine started with {} shards and {} products in memory.", shardCount, loads.length);
+    }
+
+    @PreDestroy
+    public void stop() {
+        shards.forEach(InventoryEngineShard::shutdown);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void publishStockLevels() {
+        var publications = shards
+                .stream()
+                .map(InventoryEngineShard::publishStockLevels)
+                .toArray(CompletableFuture[]::new);
+        await(CompletableFuture.allOf(publications));
+    }
+
+    public void reserve(Event event) {
+        var key = createReservationKey(event);
+        if (!reservedKeys.add(key)) {
+            throw new ValidationException("There's another transactionId for this orderInventory");
+        }
+        try {
+            if (isReserved(event)) {
+                throw new ValidationException("There's another transactionId for this orderInventory");
+            }
+            var lines = reserveOnShards(event.getPayload().getProducts());
+            try {
+                await(journal.append(createEntry(EJournalOperation.RESERVE, event, lines)));
+            } catch (RuntimeException ex) {
+                cancelOnShards(lines);
+                throw ex;
+            }
+            confirmOnShards(lines);
+        } catch (RuntimeException ex) {
+            reservedKeys.remove(key);
+            throw ex;
+        }
+    }
+
+    public void release(Event event) {
+        var lines = findReservedLines(event);
+        if (lines.isEmpty()) {
+            return;
+        }
+        await(journal.append(createEntry(EJournalOperation.RELEASE, event, lines)));
+        releaseOnShards(lines);
+        log.info("Restored inventory for order {} in memory for {} products.",
+                event.getPayload().getId(), lines.size());
+    }
+
+    private boolean isReserved(Event event) {
+        var orderId = event.getPayload().getId();
+        var transactionId = event.getTransactionId();
+        return journal.findUnapplied(orderId, transactionId).isPresent()
+                || dedupeCache.exists(orderId, transactionId,
+                        () -> orderInventoryRepository.existsByOrderIdAndTransactionId(orderId, transactionId));
+    }
+
+    private List<JournalLine> findReservedLines(Event event) {
+        var unapplied = journal.findUnapplied(event.getPayload().getId(), event.getTransactionId());
+        if (unapplied.isPresent()) {
+            return EJournalOperation.RESERVE.equals(unapplied.get().getOperation())
+                    ? unapplied.get().getLines()
+                    : List.of();
+        }
+        return findPersistedLines(event);
+    }
+
+    private List<JournalLine> reserveOnShards(List<OrderProducts> products) {
+        var futures = products
+                .stream()
+                .collect(groupingBy(product -> shardFor(product.getProduct().getCode())))
+                .entrySet()
+                .stream()
+                .map(shardProducts -> shardProducts.getKey().reserve(shardProducts.getValue()))
+                .toList();
+        var lines = new ArrayList<JournalLine>();
+        RuntimeException failure = null;
+        for (var future : futures) {
+            try {
+                lines.addAll(await(future));
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+        }
+        if (failure != null) {
+            cancelOnShards(lines);
+            throw failure;
+        }
+        return lines;
+    }
+
+    private void cancelOnShards(List<JournalLine> lines) {
+        onShards(lines, InventoryEngineShard::cancel);
+    }
+
+    private void confirmOnShards(List<JournalLine> lines) {
+        onShards(lines, InventoryEngineShard::confirm);
+    }
+
+    private void releaseOnShards(List<JournalLine> lines) {
+        onShards(lines, InventoryEngineShard::release);
+    }
+
+    private void onShards(List<JournalLine> lines,
+                          BiFunction<InventoryEngineShard, List<JournalLine>, CompletableFuture<Void>> operation) {
+        var operations = lines
+                .stream()
+                .collect(groupingBy(line -> shardFor(line.getProductCode())))
+                .entrySet()
+                .stream()
+                .map(shardLines -> operation.apply(shardLines.getKey(), shardLines.getValue()))
+                .toArray(CompletableFuture[]::new);
+        await(CompletableFuture.allOf(operations));
+    }
+
+    private List<JournalLine> findPersistedLines(Event event) {
+        return orderInventoryRepository
+                .findByOrderIdAndTransactionIdAndRestoredFalse(event.getPayload().getId(), event.getTransactionId())
+                .stream()
+                .map(orderInventory -> JournalLine
+                        .builder()
+                        .inventoryId(orderInventory.getInventory().getId())
+                        .productCode(orderInventory.getInventory().getProductCode())
+                        .orderQuantity(orderInventory.getOrderQuantity())
+                        .oldQuantity(orderInventory.getOldQuantity())
+                        .newQuantity(orderInventory.getNewQuantity())
+                        .build())
+                .toList();
+    }
+
+    private JournalEntry createEntry(EJournalOperation operation, Event event, List<JournalLine> lines) {
+        return JournalEntry
+                .builder()
+                .operation(operation)
+                .orderId(event.getPayload().getId())
+                .transactionId(event.getTransactionId())
+                .lines(lines)
+                .build();
+    }
+
+    private InventoryEngineShard shardFor(String productCode) {
+        return shards.get(Math.floorMod(productCode.hashCode(), shards.size()));
+    }
+
+    private String createReservationKey(Event event) {
+        return format(RESERVATION_KEY, event.getPayload().getId(), event.getTransactionId());
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import br.com.microservices.choreography.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.choreography.inventoryservice.core.dto.OrderProducts;
+import br.com.microservices.choreography.inventoryservice.core.model.Inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+public class InventoryEngineShard {
+
+    private final ExecutorService executor;
+    private final BiConsumer<String, Integer> stockListener;
+    private final Map<String, StockSlot> stock = new HashMap<>();
+
+    public InventoryEngineShard(int index, BiConsumer<String, Integer> stockListener) {
+        this.stockListener = stockListener;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "inventory-engine-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<Void> load(Inventory inventory) {
+        return CompletableFuture.runAsync(() -> stock.put(
+                inventory.getProductCode(),
+                new StockSlot(inventory.getId(), inventory.getAvailable())), executor);
+    }
+
+    public CompletableFuture<List<JournalLine>> reserve(List<OrderProducts> products) {
+        return CompletableFuture.supplyAsync(() -> {
+            var quantities = new LinkedHashMap<String, Integer>();
+            products.forEach(product -> quantities.merge(product.getProduct().getCode(), product.getQuantity(), Integer::sum));
+            quantities.forEach((productCode, quantity) -> {
+                var slot = stock.get(productCode);
+                if (slot == null) {
+                    throw new ValidationException("Inventory not found by informed product.");
+                }
+                if (quantity > slot.available) {
+                    throw new ValidationException("Product is out of stock.");
+                }
+            });
+            var lines = new ArrayList<JournalLine>();
+            quantities.forEach((productCode, quantity) -> {
+                var slot = stock.get(productCode);
+                var oldQuantity = slot.available;
+                slot.available -= quantity;
+                lines.add(JournalLine
+                        .builder()
+                        .inventoryId(slot.inventoryId)
+                        .productCode(productCode)
+                        .orderQuantity(quantity)
+                        .oldQuantity(oldQuantity)
+                        .newQuantity(slot.available)
+                        .build());
+            });
+            return lines;
+        }, executor);
+    }
+
+    public CompletableFuture<Void> cancel(List<JournalLine> lines) {
+        return CompletableFuture.runAsync(() -> lines.forEach(line -> {
+            var slot = stock.get(line.getProductCode());
+            if (slot != null) {
+                slot.available += line.getOrderQuantity();
+            }
+        }), executor);
+    }
+
+    public CompletableFuture<Void> confirm(List<JournalLine> lines) {
+        return CompletableFuture.runAsync(() -> lines.forEach(line -> {
+            var slot = stock.get(line.getProductCode());
+            if (slot != null) {
+                slot.durable -= line.getOrderQuantity();
+                stockListener.accept(line.getProductCode(), slot.durable);
+            }
+        }), executor);
+    }
+
+    public CompletableFuture<Void> release(List<JournalLine> lines) {
+        return CompletableFuture.runAsync(() -> lines.forEach(line -> {
+            var slot = stock.get(line.getProductCode());
+            if (slot != null) {
+                slot.available += line.getOrderQuantity();
+                slot.durable += line.getOrderQuantity();
+                stockListener.accept(line.getProductCode(), slot.durable);
+            }
+        }), executor);
+    }
+
+    public CompletableFuture<Void> publishStockLevels() {
+        return CompletableFuture.runAsync(() -> stock.forEach(
+                (productCode, slot) -> stockListener.accept(productCode, slot.durable)), executor);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static class StockSlot {
+        private final int inventoryId;
+        private int available;
+        private int durable;
+
+        private StockSlot(int inventoryId, int available) {
+            this.inventoryId = inventoryId;
+            this.available = available;
+            this.durable = available;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import br.com.microservices.choreography.inventoryservice.core.enums.EJournalOperation;
+import br.com.microservices.choreography.inventoryservice.core.model.InventoryJournalCheckpoint;
+import br.com.microservices.choreography.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryJournalCheckpointRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.OrderInventoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryJournal {
+
+    private static final Integer CHECKPOINT_ID = 1;
+    private static final long POLL_TIMEOUT_MS = 100;
+    private static final String RESERVATION_KEY = "%s_%s";
+
+    private final ObjectMapper objectMapper;
+    private final InventoryRepository inventoryRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final InventoryJournalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingEntry> pendingEntries = new LinkedBlockingQueue<>();
+    private final BlockingQueue<List<JournalEntry>> durableEntries = new LinkedBlockingQueue<>();
+    private final Map<String, JournalEntry> unappliedEntries = new ConcurrentHashMap<>();
+
+    @Value("${app.inventory.engine.journal-path}")
+    private String journalPath;
+
+    @Value("${app.inventory.engine.batch-size}")
+    private int batchSize;
+
+    @Value("${app.inventory.engine.apply-retry-interval-ms}")
+    private long applyRetryIntervalMs;
+
+    private FileChannel channel;
+    private Thread flusher;
+    private Thread applier;
+    private long appendedSequence;
+    private volatile long appliedSequence;
+    private volatile boolean running;
+
+    public void recover() {
+        var path = Path.of(journalPath);
+        if (!path.isAbsolute()) {
+            throw new IllegalStateException(
+                    "The inventory journal path must be absolute and on a persistent volume: " + journalPath);
+        }
+        try {
+            var lastApplied = checkpointRepository
+                    .findById(CHECKPOINT_ID)
+                    .map(InventoryJournalCheckpoint::getLastSequence)
+                    .orElse(0L);
+            var entries = readEntries(path);
+            var unflushed = entries
+                    .stream()
+                    .filter(entry -> entry.getSequence() > lastApplied)
+                    .toList();
+            if (!unflushed.isEmpty()) {
+                log.info("Replaying {} unflushed inventory journal entries after sequence {}.",
+                        unflushed.size(), lastApplied);
+                apply(unflushed);
+            }
+            appendedSequence = entries
+                    .stream()
+                    .mapToLong(JournalEntry::getSequence)
+                    .reduce(lastApplied, Math::max);
+            appliedSequence = appendedSequence;
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Error trying to recover the inventory journal.", ex);
+        }
+        running = true;
+        flusher = startThread("inventory-journal-flusher", this::flushLoop);
+        applier = startThread("inventory-journal-applier", this::applyLoop);
+    }
+
+    public CompletableFuture<Void> append(JournalEntry entry) {
+        var pending = new PendingEntry(entry, new CompletableFuture<>());
+        unappliedEntries.put(createKey(entry.getOrderId(), entry.getTransactionId()), entry);
+        pendingEntries.add(pending);
+        return pending.future();
+    }
+
+    public Optional<JournalEntry> findUnapplied(String orderId, String transactionId) {
+        return Optional.ofNullable(unappliedEntries.get(createKey(orderId, transactionId)));
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.join();
+        applier.join();
+        channel.close();
+    }
+
+    private List<JournalEntry> readEntries(Path path) throws IOException {
+        var entries = new ArrayList<JournalEntry>();
+        if (!Files.exists(path)) {
+            return entries;
+        }
+        for (var line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            try {
+                entries.add(objectMapper.readValue(line, JournalEntry.class));
+            } catch (Exception ex) {
+                log.warn("Ignoring torn inventory journal entry: {}", line);
+            }
+        }
+        return entries;
+    }
+
+    private Thread startThread(String name, Runnable loop) {
+        var thread = new Thread(loop, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void flushLoop() {
+        var batch = new ArrayList<PendingEntry>(batchSize);
+        while (running || !pendingEntries.isEmpty()) {
+            try {
+                var first = pendingEntries.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingEntries.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingEntry> batch) {
+        var firstSequence = appendedSequence;
+        var position = 0L;
+        try {
+            if (appliedSequence == appendedSequence) {
+                channel.truncate(0);
+            }
+            position = channel.size();
+            var content = new StringBuilder();
+            var entries = new ArrayList<JournalEntry>(batch.size());
+            for (var pending : batch) {
+                pending.entry().setSequence(++appendedSequence);
+                content.append(objectMapper.writeValueAsString(pending.entry())).append('\n');
+                entries.add(pending.entry());
+            }
+            channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)), position);
+            channel.force(false);
+            durableEntries.add(entries);
+            batch.forEach(pending -> pending.future().complete(null));
+        } catch (Exception ex) {
+            log.error("Error trying to write {} entries to the inventory journal.", batch.size(), ex);
+            appendedSequence = firstSequence;
+            truncateQuietly(position);
+            batch.forEach(pending -> {
+                forgetUnapplied(pending.entry());
+                pending.future().completeExceptionally(ex);
+            });
+        }
+    }
+
+    private void truncateQuietly(long position) {
+        try {
+            channel.truncate(position);
+        } catch (IOException ex) {
+            log.error("Error trying to truncate the inventory journal to position {}.", position, ex);
+        }
+    }
+
+    private void applyLoop() {
+        while (running || !durableEntries.isEmpty()) {
+            try {
+                var first = durableEntries.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                var batches = new ArrayList<List<JournalEntry>>();
+                durableEntries.drainTo(batches);
+                var entries = new ArrayList<>(first);
+                batches.forEach(entries::addAll);
+                applyWithRetry(entries);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void applyWithRetry(List<JournalEntry> entries) throws InterruptedException {
+        while (true) {
+            try {
+                apply(entries);
+                return;
+            } catch (Exception ex) {
+                log.error("Error trying to apply {} inventory journal entries to the database. Retrying.",
+                        entries.size(), ex);
+                Thread.sleep(applyRetryIntervalMs);
+            }
+        }
+    }
+
+    private void apply(List<JournalEntry> entries) {
+        var lastSequence = entries.get(entries.size() - 1).getSequence();
+        transactionTemplate.executeWithoutResult(status -> {
+            var deltas = new HashMap<Integer, Integer>();
+            var orderInventories = new ArrayList<OrderInventory>();
+            var releases = new ArrayList<JournalEntry>();
+            entries.forEach(entry -> {
+                if (EJournalOperation.RELEASE.equals(entry.getOperation())) {
+                    releases.add(entry);
+                }
+                entry.getLines().forEach(line -> {
+                    if (EJournalOperation.RESERVE.equals(entry.getOperation())) {
+                        deltas.merge(line.getInventoryId(), -line.getOrderQuantity(), Integer::sum);
+                        orderInventories.add(createOrderInventory(entry, line));
+                    } else {
+                        deltas.merge(line.getInventoryId(), line.getOrderQuantity(), Integer::sum);
+                    }
+                });
+            });
+            deltas.forEach(inventoryRepository::increaseAvailable);
+            orderInventoryRepository.saveAll(orderInventories);
+            releases.forEach(entry -> orderInventoryRepository
+                    .markRestored(entry.getOrderId(), entry.getTransactionId(), LocalDateTime.now()));
+            checkpointRepository.save(new InventoryJournalCheckpoint(CHECKPOINT_ID, lastSequence));
+        });
+        appliedSequence = lastSequence;
+        entries.forEach(this::forgetUnapplied);
+    }
+
+    private void forgetUnapplied(JournalEntry entry) {
+        unappliedEntries.remove(createKey(entry.getOrderId(), entry.getTransactionId()), entry);
+    }
+
+    private String createKey(String orderId, String transactionId) {
+        return String.format(RESERVATION_KEY, orderId, transactionId);
+    }
+
+    private OrderInventory createOrderInventory(JournalEntry entry, JournalLine line) {
+        return OrderInventory
+                .builder()
+                .inventory(inventoryRepository.getReferenceById(line.getInventoryId()))
+                .oldQuantity(line.getOldQuantity())
+                .orderQuantity(line.getOrderQuantity())
+                .newQuantity(line.getNewQuantity())
+                .orderId(entry.getOrderId())
+                .transactionId(entry.getTransactionId())
+                .build();
+    }
+
+    private record PendingEntry(JournalEntry entry, CompletableFuture<Void> future) {
+    }
+}
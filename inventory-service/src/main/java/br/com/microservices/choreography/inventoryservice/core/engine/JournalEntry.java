@@ -0,0 +1,21 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import br.com.microservices.choreography.inventoryservice.core.enums.EJournalOperation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class JournalEntry {
+    private long sequence;
+    private EJournalOperation operation;
+    private String orderId;
+    private String transactionId;
+    private List<JournalLine> lines;
+}
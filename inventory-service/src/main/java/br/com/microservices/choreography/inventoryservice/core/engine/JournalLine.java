@@ -0,0 +1,18 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class JournalLine {
+    private Integer inventoryId;
+    private String productCode;
+    private int orderQuantity;
+    private int oldQuantity;
+    private int newQuantity;
+}
@@ -0,0 +1,7 @@
+package br.com.microservices.choreography.inventoryservice.core.enums;
+
+public enum ECircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
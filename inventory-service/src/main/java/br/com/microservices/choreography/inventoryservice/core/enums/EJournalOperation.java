@@ -0,0 +1,6 @@
+package br.com.microservices.choreography.inventoryservice.core.enums;
+
+public enum EJournalOperation {
+    RESERVE,
+    RELEASE
+}
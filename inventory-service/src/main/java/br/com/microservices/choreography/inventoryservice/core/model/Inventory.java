@@ -13,7 +13,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "inventory")
 public class Inventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_seq")
+    @SequenceGenerator(name = "inventory_seq", sequenceName = "inventory_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -21,4 +22,7 @@ public class Inventory {
 
     @Column(nullable = false)
     private Integer available;
+
+    @Column(nullable = false)
+    private int stripes;
 }
\ No newline at end of file
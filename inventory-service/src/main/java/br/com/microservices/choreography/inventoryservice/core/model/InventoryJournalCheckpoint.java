@@ -0,0 +1,19 @@
+package br.com.microservices.choreography.inventoryservice.core.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "inventory_journal_checkpoint")
+public class InventoryJournalCheckpoint {
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Table(name = "order_inventory")
 public class OrderInventory {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_inventory_seq")
+    @SequenceGenerator(name = "order_inventory_seq", sequenceName = "order_inventory_seq", allocationSize = 50)
     private Integer id;
 
     @ManyToOne
@@ -38,6 +39,11 @@ public class OrderInventory {
     @Column(nullable = false)
     private Integer newQuantity;
 
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private boolean restored;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
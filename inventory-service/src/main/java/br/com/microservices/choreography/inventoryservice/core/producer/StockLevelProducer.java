@@ -0,0 +1,34 @@
+package br.com.microservices.choreography.inventoryservice.core.producer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StockLevelProducer {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${spring.kafka.topic.inventory-stock}")
+    private String inventoryStockTopic;
+
+    @Value("${app.inventory.stock-feed.enabled}")
+    private boolean enabled;
+
+    public void sendStockLevel(String productCode, int available) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            log.debug("Sending stock level {} for product {} to topic {}", available, productCode, inventoryStockTopic);
+            kafkaTemplate.send(inventoryStockTopic, productCode, String.valueOf(available));
+        }
+        catch (Exception ex) {
+            log.error("Error trying to send stock level for product {} to topic {}.", productCode, inventoryStockTopic, ex);
+        }
+    }
+}
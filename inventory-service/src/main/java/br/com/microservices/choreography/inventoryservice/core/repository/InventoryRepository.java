@@ -2,9 +2,32 @@ package br.com.microservices.choreography.inventoryservice.core.repository;
 
 import br.com.microservices.choreography.inventoryservice.core.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Integer> {
     Optional<Inventory> findByProductCode(String productCode);
+    List<Inventory> findByProductCodeIn(Collection<String> productCodes);
+    List<Inventory> findByStripesGreaterThan(int stripes);
+
+    @Modifying
+    @Transactional
+    @Query("update Inventory i set i.stripes = :stripes where i.id = :id and i.stripes = 0 and i.available = :available")
+    int markStriped(@Param("id") Integer id, @Param("available") Integer available, @Param("stripes") Integer stripes);
+
+    @Modifying
+    @Transactional
+    @Query("update Inventory i set i.available = i.available + :delta where i.id = :id")
+    int increaseAvailable(@Param("id") Integer id, @Param("delta") Integer delta);
+
+    @Modifying
+    @Transactional
+    @Query("update Inventory i set i.available = i.available - :quantity where i.id = :id and i.available >= :quantity")
+    int decreaseAvailable(@Param("id") Integer id, @Param("quantity") Integer quantity);
 }
@@ -0,0 +1,34 @@
+package br.com.microservices.choreography.inventoryservice.core.repository;
+
+import br.com.microservices.choreography.inventoryservice.core.model.InventoryStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface InventoryStripeRepository extends JpaRepository<InventoryStripe, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<InventoryStripe> findByInventoryIdOrderByStripe(Integer inventoryId);
+
+    @Query("select coalesce(sum(s.available), 0) from InventoryStripe s where s.inventory.id = :inventoryId")
+    Integer sumAvailableByInventoryId(@Param("inventoryId") Integer inventoryId);
+
+    @Modifying
+    @Query("update InventoryStripe s set s.available = s.available - :quantity "
+            + "where s.inventory.id = :inventoryId and s.stripe = :stripe and s.available >= :quantity")
+    int decreaseAvailable(@Param("inventoryId") Integer inventoryId,
+                          @Param("stripe") Integer stripe,
+                          @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("update InventoryStripe s set s.available = s.available + :quantity "
+            + "where s.inventory.id = :inventoryId and s.stripe = :stripe")
+    int increaseAvailable(@Param("inventoryId") Integer inventoryId,
+                          @Param("stripe") Integer stripe,
+                          @Param("quantity") Integer quantity);
+}
@@ -1,11 +1,31 @@
 package br.com.microservices.choreography.inventoryservice.core.repository;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeKeySource;
 import br.com.microservices.choreography.inventoryservice.core.model.OrderInventory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer> {
+public interface OrderInventoryRepository extends JpaRepository<OrderInventory, Integer>, DedupeKeySource {
     Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
     List<OrderInventory> findByOrderIdAndTransactionId(String orderId, String transactionId);
+    List<OrderInventory> findByOrderIdAndTransactionIdAndRestoredFalse(String orderId, String transactionId);
+
+    @Modifying
+    @Query("update OrderInventory o set o.restored = true, o.updatedAt = :updatedAt where o.id = :id and o.restored = false")
+    int markRestored(@Param("id") Integer id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update OrderInventory o set o.restored = true, o.updatedAt = :updatedAt "
+            + "where o.orderId = :orderId and o.transactionId = :transactionId and o.restored = false")
+    int markRestored(@Param("orderId") String orderId,
+                     @Param("transactionId") String transactionId,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select concat(o.orderId, '_', o.transactionId) from OrderInventory o where o.createdAt >= :createdAt")
+    List<String> findDedupeKeysCreatedSince(@Param("createdAt") LocalDateTime createdAt);
 }
@@ -1,61 +1,112 @@
 package br.com.microservices.choreography.inventoryservice.core.service;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.inventoryservice.config.datasource.DatabaseCircuitBreaker;
 import br.com.microservices.choreography.inventoryservice.config.exception.ValidationException;
 import br.com.microservices.choreography.inventoryservice.core.dto.Event;
 import br.com.microservices.choreography.inventoryservice.core.dto.History;
-import br.com.microservices.choreography.inventoryservice.core.dto.Order;
 import br.com.microservices.choreography.inventoryservice.core.dto.OrderProducts;
+import br.com.microservices.choreography.inventoryservice.core.engine.InventoryEngine;
 import br.com.microservices.choreography.inventoryservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.inventoryservice.core.model.Inventory;
 import br.com.microservices.choreography.inventoryservice.core.model.OrderInventory;
 import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
 import br.com.microservices.choreography.inventoryservice.core.repository.OrderInventoryRepository;
 import br.com.microservices.choreography.inventoryservice.core.saga.SagaExecutionController;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class InventoryService {
 
     private static final String CURRENT_SOURCE = "INVENTORY_SERVICE";
     private final InventoryRepository inventoryRepository;
     private final OrderInventoryRepository orderInventoryRepository;
+    private final InventoryStripeService inventoryStripeService;
+    private final InventoryEngine inventoryEngine;
+    private final StockFeedService stockFeedService;
     private final SagaExecutionController sagaExecutionController;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessedEventService processedEventService;
+    private final DedupeCache dedupeCache;
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
+    private final EntityManager entityManager;
+
+    @Value("${app.saga.chunk-size}")
+    private int chunkSize;
 
     public void updateInventory(Event event) {
         try {
-            checkOrderInventory(event);
-            createOrderInventory(event);
-            updateInventory(event.getPayload());
+            if (inventoryEngine.isEnabled()) {
+                inventoryEngine.reserve(event);
+            } else {
+                checkOrderInventory(event);
+                transactionTemplate.executeWithoutResult(status -> reserveInventory(event));
+            }
             handleSuccess(event);
         } catch (Exception ex) {
+            databaseCircuitBreaker.rethrowIfUnavailable(ex);
             log.error("Error trying to update the inventory: ", ex);
             handleInventoryUpdateFailure(event, ex.getMessage());
         }
-        sagaExecutionController.handleSaga(event);
+        sagaExecutionController.handleSaga(event, this::rollbackInventory);
     }
 
     private void checkOrderInventory(Event event) {
-        if (orderInventoryRepository.existsByOrderIdAndTransactionId(
-                event.getPayload().getId(), event.getTransactionId())) {
+        if (processedEventService.isEnabled()) {
+            return;
+        }
+        var orderId = event.getPayload().getId();
+        var transactionId = event.getTransactionId();
+        if (dedupeCache.exists(orderId, transactionId,
+                () -> orderInventoryRepository.existsByOrderIdAndTransactionId(orderId, transactionId))) {
             throw new ValidationException("There's another transactionId for this orderInventory");
         }
     }
 
-    private void createOrderInventory(Event event) {
-        event
-            .getPayload()
-            .getProducts()
-            .forEach(product -> {
-                var inventory = findInventoryByProductCode(product.getProduct().getCode());
-                var orderInventory = createOrderInventory(event, product, inventory);
-                orderInventoryRepository.save(orderInventory);
-                });
+    private void reserveInventory(Event event) {
+        var products = event.getPayload().getProducts();
+        for (var from = 0; from < products.size(); from += chunkSize) {
+            reserveInventoryChunk(event, products.subList(from, Math.min(from + chunkSize, products.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private void reserveInventoryChunk(Event event, List<OrderProducts> chunk) {
+        var inventories = findInventoriesByProductCode(chunk);
+        var orderInventories = new ArrayList<OrderInventory>();
+        chunk.forEach(orderProduct -> {
+            var inventory = inventories.get(orderProduct.getProduct().getCode());
+            if (!inventoryStripeService.isStriped(inventory)) {
+                orderInventories.add(createOrderInventory(event, orderProduct, inventory));
+            }
+        });
+        orderInventoryRepository.saveAll(orderInventories);
+        chunk.forEach(orderProduct -> {
+            var inventory = inventories.get(orderProduct.getProduct().getCode());
+            if (inventoryStripeService.isStriped(inventory)) {
+                inventoryStripeService.decreaseInventory(event.getPayload(), orderProduct, inventory);
+                stockFeedService.publish(inventory);
+            } else {
+                checkInventory(inventory.getAvailable(), orderProduct.getQuantity());
+                decreaseAvailable(inventory, orderProduct.getQuantity());
+                stockFeedService.publish(inventory, inventory.getAvailable() - orderProduct.getQuantity());
+            }
+        });
     }
 
     private OrderInventory createOrderInventory(Event event, OrderProducts product, Inventory inventory) {
@@ -70,15 +121,10 @@ public class InventoryService {
                 .build();
     }
 
-    private void updateInventory(Order order) {
-        order
-            .getProducts()
-            .forEach(orderProduct -> {
-                var inventory = findInventoryByProductCode(orderProduct.getProduct().getCode());
-                checkInventory(inventory.getAvailable(), orderProduct.getQuantity());
-                inventory.setAvailable(inventory.getAvailable() - orderProduct.getQuantity());
-                inventoryRepository.save(inventory);
-            });
+    private void decreaseAvailable(Inventory inventory, int quantity) {
+        if (inventoryRepository.decreaseAvailable(inventory.getId(), quantity) == 0) {
+            throw new ValidationException("Product is out of stock.");
+        }
     }
 
     private void checkInventory(int available, int orderQuantity) {
@@ -93,6 +139,13 @@ public class InventoryService {
         addHistory(event, "Inventory updated successfully!");
     }
 
+    public void failExpiredSaga(Event event) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        addHistory(event, "Saga deadline expired, inventory was not reserved.");
+        sagaExecutionController.handleSaga(event);
+    }
+
     private void addHistory(Event event, String message) {
         var history = History
                 .builder()
@@ -118,28 +171,51 @@ public class InventoryService {
             returnInventoryToPreviousValues(event);
             addHistory(event, "Rollback executed on inventory.");
         } catch(Exception ex) {
+            databaseCircuitBreaker.rethrowIfUnavailable(ex);
             addHistory(event, "Rollback not executed for inventory: ".concat(ex.getMessage()));
         }
         sagaExecutionController.handleSaga(event);
     }
 
     private void returnInventoryToPreviousValues(Event event) {
-        orderInventoryRepository
-            .findByOrderIdAndTransactionId(event.getPayload().getId(), event.getTransactionId())
+        if (inventoryEngine.isEnabled()) {
+            inventoryEngine.release(event);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> orderInventoryRepository
+            .findByOrderIdAndTransactionIdAndRestoredFalse(event.getPayload().getId(), event.getTransactionId())
             .forEach(orderInventory -> {
+                if (orderInventoryRepository.markRestored(orderInventory.getId(), LocalDateTime.now()) == 0) {
+                    return;
+                }
+                if (inventoryStripeService.isStriped(orderInventory)) {
+                    inventoryStripeService.restoreInventory(orderInventory);
+                    stockFeedService.publish(orderInventory.getInventory());
+                    return;
+                }
                 var inventory = orderInventory.getInventory();
-                inventory.setAvailable(orderInventory.getOldQuantity());
-                inventoryRepository.save(inventory);
+                var restoredQuantity = inventory.getAvailable() + orderInventory.getOrderQuantity();
+                inventoryRepository.increaseAvailable(inventory.getId(), orderInventory.getOrderQuantity());
+                stockFeedService.publish(inventory, restoredQuantity);
                 log.info("Restored inventory for order {} from {} to {}.",
                         event.getPayload().getId(),
                         orderInventory.getNewQuantity(),
-                        inventory.getAvailable());
-            });
+                        restoredQuantity);
+            }));
     }
 
-    private Inventory findInventoryByProductCode(String productCode) {
-        return inventoryRepository
-                .findByProductCode(productCode)
-                .orElseThrow(() -> new ValidationException("Inventory not found by informed product."));
+    private Map<String, Inventory> findInventoriesByProductCode(List<OrderProducts> chunk) {
+        var productCodes = chunk
+                .stream()
+                .map(orderProduct -> orderProduct.getProduct().getCode())
+                .collect(Collectors.toSet());
+        var inventories = inventoryRepository
+                .findByProductCodeIn(productCodes)
+                .stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+        if (!inventories.keySet().containsAll(productCodes)) {
+            throw new ValidationException("Inventory not found by informed product.");
+        }
+        return inventories;
     }
 }
@@ -0,0 +1,191 @@
+package br.com.microservices.choreography.inventoryservice.core.service;
+
+import br.com.microservices.choreography.inventoryservice.config.exception.ValidationException;
+import br.com.microservices.choreography.inventoryservice.core.dto.Order;
+import br.com.microservices.choreography.inventoryservice.core.dto.OrderProducts;
+import br.com.microservices.choreography.inventoryservice.core.model.Inventory;
+import br.com.microservices.choreography.inventoryservice.core.model.InventoryStripe;
+import br.com.microservices.choreography.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryStripeRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.OrderInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryStripeService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryStripeRepository inventoryStripeRepository;
+    private final OrderInventoryRepository orderInventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.inventory.striping.enabled}")
+    private boolean enabled;
+
+    @Value("${app.inventory.striping.stripe-count}")
+    private int stripeCount;
+
+    @Value("${app.inventory.striping.products}")
+    private List<String> stripedProducts;
+
+    @PostConstruct
+    public void initializeStripes() {
+        if (!enabled) {
+            return;
+        }
+        stripedProducts.forEach(productCode -> inventoryRepository
+                .findByProductCode(productCode)
+                .filter(inventory -> !isStriped(inventory))
+                .ifPresent(inventory -> transactionTemplate.executeWithoutResult(status -> split(inventory))));
+    }
+
+    public boolean isStriped(Inventory inventory) {
+        return inventory.getStripes() > 0;
+    }
+
+    public boolean isStriped(OrderInventory orderInventory) {
+        return orderInventory.getStripe() != null;
+    }
+
+    public int getAvailable(Inventory inventory) {
+        if (!isStriped(inventory)) {
+            return inventory.getAvailable();
+        }
+        return inventoryStripeRepository.sumAvailableByInventoryId(inventory.getId());
+    }
+
+    @Transactional
+    public void decreaseInventory(Order order, OrderProducts orderProduct, Inventory inventory) {
+        var quantity = orderProduct.getQuantity();
+        var oldQuantity = getAvailable(inventory);
+        var homeStripe = Math.floorMod(order.getId().hashCode(), inventory.getStripes());
+        var takenByStripe = decreaseSingleStripe(inventory, homeStripe, quantity);
+        if (takenByStripe.isEmpty()) {
+            takenByStripe = decreaseAcrossStripes(inventory, quantity);
+        }
+        var orderInventories = new ArrayList<OrderInventory>();
+        var currentQuantity = oldQuantity;
+        for (var taken : takenByStripe.entrySet()) {
+            orderInventories.add(OrderInventory
+                    .builder()
+                    .inventory(inventory)
+                    .oldQuantity(currentQuantity)
+                    .orderQuantity(taken.getValue())
+                    .newQuantity(currentQuantity - taken.getValue())
+                    .stripe(taken.getKey())
+                    .orderId(order.getId())
+                    .transactionId(order.getTransactionId())
+                    .build());
+            currentQuantity -= taken.getValue();
+        }
+        orderInventoryRepository.saveAll(orderInventories);
+    }
+
+    private Map<Integer, Integer> decreaseSingleStripe(Inventory inventory, int homeStripe, int quantity) {
+        for (var offset = 0; offset < inventory.getStripes(); offset++) {
+            var stripe = (homeStripe + offset) % inventory.getStripes();
+            if (inventoryStripeRepository.decreaseAvailable(inventory.getId(), stripe, quantity) > 0) {
+                return Map.of(stripe, quantity);
+            }
+        }
+        return Map.of();
+    }
+
+    private Map<Integer, Integer> decreaseAcrossStripes(Inventory inventory, int quantity) {
+        var takenByStripe = new LinkedHashMap<Integer, Integer>();
+        var remaining = quantity;
+        for (var stripe : inventoryStripeRepository.findByInventoryIdOrderByStripe(inventory.getId())) {
+            var taken = Math.min(stripe.getAvailable(), remaining);
+            if (taken == 0) {
+                continue;
+            }
+            stripe.setAvailable(stripe.getAvailable() - taken);
+            takenByStripe.put(stripe.getStripe(), taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                return takenByStripe;
+            }
+        }
+        throw new ValidationException("Product is out of stock.");
+    }
+
+    @Transactional
+    public void restoreInventory(OrderInventory orderInventory) {
+        inventoryStripeRepository.increaseAvailable(
+                orderInventory.getInventory().getId(),
+                orderInventory.getStripe(),
+                orderInventory.getOrderQuantity());
+        log.info("Restored {} units to stripe {} of inventory {} for order {}.",
+                orderInventory.getOrderQuantity(),
+                orderInventory.getStripe(),
+                orderInventory.getInventory().getProductCode(),
+                orderInventory.getOrderId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.striping.rebalance-interval-ms}")
+    public void rebalanceStripes() {
+        if (!enabled) {
+            return;
+        }
+        inventoryRepository
+                .findByStripesGreaterThan(0)
+                .forEach(inventory -> transactionTemplate.executeWithoutResult(status -> rebalance(inventory.getId())));
+    }
+
+    private void split(Inventory inventory) {
+        if (inventoryRepository.markStriped(inventory.getId(), inventory.getAvailable(), stripeCount) == 0) {
+            log.warn("Inventory {} changed while it was being split, it will be split on the next start.",
+                    inventory.getProductCode());
+            return;
+        }
+        var stripes = new ArrayList<InventoryStripe>();
+        for (var stripe = 0; stripe < stripeCount; stripe++) {
+            stripes.add(InventoryStripe
+                    .builder()
+                    .inventory(inventory)
+                    .stripe(stripe)
+                    .available(0)
+                    .build());
+        }
+        distribute(stripes, inventory.getAvailable());
+        inventoryStripeRepository.saveAll(stripes);
+        log.info("Inventory {} split into {} stripes with {} units available.",
+                inventory.getProductCode(), stripeCount, inventory.getAvailable());
+    }
+
+    private void rebalance(Integer inventoryId) {
+        var stripes = inventoryStripeRepository.findByInventoryIdOrderByStripe(inventoryId);
+        var summary = stripes
+                .stream()
+                .mapToInt(InventoryStripe::getAvailable)
+                .summaryStatistics();
+        if (summary.getMax() - summary.getMin() > 1) {
+            distribute(stripes, (int) summary.getSum());
+        }
+        inventoryRepository
+                .findById(inventoryId)
+                .ifPresent(inventory -> inventory.setAvailable((int) summary.getSum()));
+    }
+
+    private void distribute(List<InventoryStripe> stripes, int total) {
+        var share = total / stripes.size();
+        var remainder = total % stripes.size();
+        for (var index = 0; index < stripes.size(); index++) {
+            stripes.get(index).setAvailable(index < remainder ? share + 1 : share);
+        }
+    }
+}
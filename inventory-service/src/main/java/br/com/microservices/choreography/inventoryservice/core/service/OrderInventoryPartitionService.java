@@ -0,0 +1,90 @@
+package br.com.microservices.choreography.inventoryservice.core.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderInventoryPartitionService {
+
+    private static final String PARENT_TABLE = "order_inventory";
+    private static final String PARTITION_PREFIX = "order_inventory_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String CREATE_PARTITION =
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF order_inventory FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DETACH_PARTITION = "ALTER TABLE order_inventory DETACH PARTITION %s";
+    private static final String DROP_PARTITION = "DROP TABLE %s";
+    private static final String FIND_PARTITIONS = """
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.inventory.partitioning.premake-days}")
+    private int premakeDays;
+
+    @Value("${app.inventory.partitioning.retention-days}")
+    private int retentionDays;
+
+    @PostConstruct
+    public void initialize() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.inventory.partitioning.maintenance-cron}")
+    public void maintainPartitions() {
+        var today = LocalDate.now();
+        createPartitions(today);
+        dropExpiredPartitions(today.minusDays(retentionDays));
+    }
+
+    private void createPartitions(LocalDate today) {
+        for (var day = today; !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            jdbcTemplate.execute(format(CREATE_PARTITION, partitionName(day), day, day.plusDays(1)));
+        }
+    }
+
+    private void dropExpiredPartitions(LocalDate oldestRetainedDay) {
+        jdbcTemplate
+            .queryForList(FIND_PARTITIONS, String.class, PARENT_TABLE)
+            .stream()
+            .filter(partition -> isExpired(partition, oldestRetainedDay))
+            .forEach(partition -> {
+                jdbcTemplate.execute(format(DETACH_PARTITION, partition));
+                jdbcTemplate.execute(format(DROP_PARTITION, partition));
+                log.info("Dropped expired order inventory partition {}.", partition);
+            });
+    }
+
+    private boolean isExpired(String partition, LocalDate oldestRetainedDay) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return false;
+        }
+        try {
+            var day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            return day.isBefore(oldestRetainedDay);
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    private String partitionName(LocalDate day) {
+        return PARTITION_PREFIX.concat(day.format(PARTITION_SUFFIX));
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.microservices.choreography.inventoryservice.core.service;
+
+import br.com.microservices.choreography.inventoryservice.core.engine.InventoryEngine;
+import br.com.microservices.choreography.inventoryservice.core.model.Inventory;
+import br.com.microservices.choreography.inventoryservice.core.producer.StockLevelProducer;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+@Service
+@RequiredArgsConstructor
+public class StockFeedService {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryStripeService inventoryStripeService;
+    private final InventoryEngine inventoryEngine;
+    private final StockLevelProducer stockLevelProducer;
+
+    @Value("${app.inventory.stock-feed.enabled}")
+    private boolean enabled;
+
+    public void publish(Inventory inventory) {
+        publish(inventory.getProductCode(), () -> inventoryStripeService.getAvailable(inventory));
+    }
+
+    /**
+     * Publishes a level computed by the caller, for rows changed by a bulk update that the managed entity does
+     * not reflect. The entity must not be updated to match, or the next flush would write the stale value back.
+     */
+    public void publish(Inventory inventory, int available) {
+        publish(inventory.getProductCode(), () -> available);
+    }
+
+    private void publish(String productCode, IntSupplier available) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stockLevelProducer.sendStockLevel(productCode, available.getAsInt());
+            return;
+        }
+        findPendingPublications().put(productCode, available);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, IntSupplier> findPendingPublications() {
+        var pending = (Map<String, IntSupplier>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        var levels = new LinkedHashMap<String, IntSupplier>();
+        TransactionSynchronizationManager.bindResource(this, levels);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                levels.forEach((productCode, available) ->
+                        stockLevelProducer.sendStockLevel(productCode, available.getAsInt()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockFeedService.this);
+            }
+        });
+        return levels;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.inventory.stock-feed.snapshot-interval-ms}",
+            initialDelayString = "${app.inventory.stock-feed.snapshot-interval-ms}")
+    public void publishSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        if (inventoryEngine.isEnabled()) {
+            inventoryEngine.publishStockLevels();
+            return;
+        }
+        inventoryRepository.findAll().forEach(this::publish);
+    }
+}
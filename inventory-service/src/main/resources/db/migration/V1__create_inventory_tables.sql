@@ -0,0 +1,43 @@
+CREATE SEQUENCE inventory_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE inventory_stripe_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_inventory_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE inventory (
+    id           INTEGER      NOT NULL PRIMARY KEY,
+    product_code VARCHAR(255) NOT NULL,
+    available    INTEGER      NOT NULL,
+    stripes      INTEGER      NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_inventory_product_code ON inventory (product_code);
+CREATE INDEX ix_inventory_stripes ON inventory (stripes) WHERE stripes > 0;
+
+CREATE TABLE inventory_stripe (
+    id           INTEGER NOT NULL PRIMARY KEY,
+    inventory_id INTEGER NOT NULL REFERENCES inventory (id),
+    stripe       INTEGER NOT NULL,
+    available    INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_inventory_stripe_inventory_id_stripe ON inventory_stripe (inventory_id, stripe);
+
+CREATE TABLE order_inventory (
+    id             INTEGER      NOT NULL PRIMARY KEY,
+    inventory_id   INTEGER      NOT NULL REFERENCES inventory (id),
+    order_id       VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    order_quantity INTEGER      NOT NULL,
+    old_quantity   INTEGER      NOT NULL,
+    new_quantity   INTEGER      NOT NULL,
+    stripe         INTEGER,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX ix_order_inventory_order_id_transaction_id ON order_inventory (order_id, transaction_id);
+CREATE INDEX ix_order_inventory_inventory_id ON order_inventory (inventory_id);
+
+CREATE TABLE inventory_journal_checkpoint (
+    id            INTEGER NOT NULL PRIMARY KEY,
+    last_sequence BIGINT  NOT NULL
+);
@@ -0,0 +1,4 @@
+INSERT INTO inventory (id, product_code, available, stripes) VALUES (nextval('inventory_seq'), 'COMIC_BOOKS', 4, 0);
+INSERT INTO inventory (id, product_code, available, stripes) VALUES (nextval('inventory_seq'), 'BOOKS', 2, 0);
+INSERT INTO inventory (id, product_code, available, stripes) VALUES (nextval('inventory_seq'), 'MOVIES ', 5, 0);
+INSERT INTO inventory (id, product_code, available, stripes) VALUES (nextval('inventory_seq'), 'MUSIC ', 9, 0);
@@ -0,0 +1,40 @@
+ALTER TABLE order_inventory RENAME TO order_inventory_legacy;
+ALTER TABLE order_inventory_legacy RENAME CONSTRAINT order_inventory_pkey TO order_inventory_legacy_pkey;
+ALTER INDEX ix_order_inventory_order_id_transaction_id RENAME TO ix_order_inventory_legacy_order_id_transaction_id;
+ALTER INDEX ix_order_inventory_inventory_id RENAME TO ix_order_inventory_legacy_inventory_id;
+
+CREATE TABLE order_inventory (
+    id             INTEGER      NOT NULL,
+    inventory_id   INTEGER      NOT NULL REFERENCES inventory (id),
+    order_id       VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    order_quantity INTEGER      NOT NULL,
+    old_quantity   INTEGER      NOT NULL,
+    new_quantity   INTEGER      NOT NULL,
+    stripe         INTEGER,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT order_inventory_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX ix_order_inventory_order_id_transaction_id ON order_inventory (order_id, transaction_id);
+CREATE INDEX ix_order_inventory_inventory_id ON order_inventory (inventory_id);
+
+DO $$
+DECLARE
+    partition_day DATE := COALESCE((SELECT MIN(created_at)::DATE FROM order_inventory_legacy), CURRENT_DATE);
+BEGIN
+    WHILE partition_day <= CURRENT_DATE + 7 LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF order_inventory FOR VALUES FROM (%L) TO (%L)',
+                       'order_inventory_p' || to_char(partition_day, 'YYYYMMDD'),
+                       partition_day,
+                       partition_day + 1);
+        partition_day := partition_day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO order_inventory
+SELECT id, inventory_id, order_id, transaction_id, order_quantity, old_quantity, new_quantity, stripe, created_at, updated_at
+FROM order_inventory_legacy;
+
+DROP TABLE order_inventory_legacy;
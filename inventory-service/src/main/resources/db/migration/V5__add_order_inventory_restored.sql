@@ -0,0 +1 @@
+ALTER TABLE order_inventory ADD COLUMN restored BOOLEAN NOT NULL DEFAULT FALSE;
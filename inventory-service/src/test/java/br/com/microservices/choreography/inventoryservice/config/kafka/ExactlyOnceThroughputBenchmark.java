@@ -0,0 +1,165 @@
+package br.com.microservices.choreography.inventoryservice.config.kafka;
+
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+/**
+ * Compares consume-process-produce throughput of the at-least-once path with the opt-in exactly-once mode, using
+ * the consumer, producer and container settings from {@link KafkaConfig}. Only the Kafka side is measured: the
+ * handler does no database work, so the processed_event insert of exactly-once mode and the exists query it
+ * replaces are left out. Each mode runs until it has processed every loaded record or the measurement window
+ * ends. Runs with {@code gradle benchmark}; BENCHMARK_EXACTLY_ONCE_RECORDS overrides the record count.
+ */
+@Slf4j
+@Tag("benchmark")
+@EmbeddedKafka(
+        partitions = ExactlyOnceThroughputBenchmark.PARTITIONS,
+        topics = {
+                ExactlyOnceThroughputBenchmark.AT_LEAST_ONCE_TOPIC,
+                ExactlyOnceThroughputBenchmark.EXACTLY_ONCE_TOPIC,
+                ExactlyOnceThroughputBenchmark.OUTPUT_TOPIC
+        },
+        brokerProperties = {"transaction.state.log.replication.factor=1", "transaction.state.log.min.isr=1"})
+class ExactlyOnceThroughputBenchmark {
+
+    static final int PARTITIONS = 4;
+    static final String AT_LEAST_ONCE_TOPIC = "inventory-success-at-least-once";
+    static final String EXACTLY_ONCE_TOPIC = "inventory-success-exactly-once";
+    static final String OUTPUT_TOPIC = "payment-success";
+
+    private static final int DEFAULT_RECORDS = 20_000;
+    private static final int CONCURRENCY = 2;
+    private static final int PAYLOAD_BYTES = 1_024;
+    private static final long WINDOW_SECONDS = 30;
+
+    @Test
+    void comparesExactlyOnceWithAtLeastOnce(EmbeddedKafkaBroker broker) throws Exception {
+        var configuredRecords = System.getenv("BENCHMARK_EXACTLY_ONCE_RECORDS");
+        var records = isEmpty(configuredRecords) ? DEFAULT_RECORDS : Integer.parseInt(configuredRecords);
+        var payload = "x".repeat(PAYLOAD_BYTES);
+        load(broker, AT_LEAST_ONCE_TOPIC, records, payload);
+        load(broker, EXACTLY_ONCE_TOPIC, records, payload);
+
+        var atLeastOnce = measure(createKafkaConfig(broker, false), AT_LEAST_ONCE_TOPIC, records);
+        var exactlyOnce = measure(createKafkaConfig(broker, true), EXACTLY_ONCE_TOPIC, records);
+
+        log.info("Consume-process-produce | AT LEAST ONCE {} records in {} ms, {} records/s "
+                        + "| EXACTLY ONCE {} records in {} ms, {} records/s",
+                atLeastOnce.records(), atLeastOnce.elapsedMs(), Math.round(atLeastOnce.throughput()),
+                exactlyOnce.records(), exactlyOnce.elapsedMs(), Math.round(exactlyOnce.throughput()));
+        assertThat(exactlyOnce.records()).isPositive();
+        assertThat(countCommittedOutput(broker)).isGreaterThanOrEqualTo(atLeastOnce.records() + exactlyOnce.records());
+    }
+
+    private KafkaConfig createKafkaConfig(EmbeddedKafkaBroker broker, boolean exactlyOnce) {
+        var kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(kafkaConfig, "groupId", "inventory-group");
+        ReflectionTestUtils.setField(kafkaConfig, "autoOffsetReset", "earliest");
+        ReflectionTestUtils.setField(kafkaConfig, "sessionTimeoutMs", 10_000);
+        ReflectionTestUtils.setField(kafkaConfig, "shutdownTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(kafkaConfig, "compressionType", "none");
+        ReflectionTestUtils.setField(kafkaConfig, "maxRequestSize", 1_048_576);
+        ReflectionTestUtils.setField(kafkaConfig, "exactlyOnce", exactlyOnce);
+        ReflectionTestUtils.setField(kafkaConfig, "transactionIdPrefix", "inventory-tx-");
+        ReflectionTestUtils.setField(kafkaConfig, "transactionRetryBackoffMs", 10L);
+        return kafkaConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Measurement measure(KafkaConfig kafkaConfig, String topic, int records) throws Exception {
+        var producerFactory = kafkaConfig.producerFactory();
+        var kafkaTemplate = kafkaConfig.kafkaTemplate(producerFactory);
+        var processed = new AtomicInteger();
+        var firstProcessedAt = new AtomicLong();
+        var containerProperties = new ContainerProperties(topic);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setMessageListener((AcknowledgingMessageListener<Object, Object>) (record, ack) -> {
+            firstProcessedAt.compareAndSet(0, System.nanoTime());
+            kafkaTemplate.send(OUTPUT_TOPIC, (String) record.key(), (String) record.value());
+            ack.acknowledge();
+            processed.incrementAndGet();
+        });
+        var consumerFactory = (ConsumerFactory<Object, Object>) (ConsumerFactory<?, ?>) kafkaConfig.consumerFactory();
+        var container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        container.setConcurrency(CONCURRENCY);
+        kafkaConfig.kafkaContainerCustomizer(producerFactory, mock(DedupeCache.class)).configure(container);
+        container.start();
+        try {
+            while (firstProcessedAt.get() == 0) {
+                Thread.sleep(10);
+            }
+            var deadline = firstProcessedAt.get() + TimeUnit.SECONDS.toNanos(WINDOW_SECONDS);
+            while (processed.get() < records && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            var elapsedNanos = System.nanoTime() - firstProcessedAt.get();
+            return new Measurement(processed.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    processed.get() / (elapsedNanos / 1_000_000_000.0));
+        } finally {
+            container.stop();
+            ((DefaultKafkaProducerFactory<String, String>) producerFactory).destroy();
+        }
+    }
+
+    private void load(EmbeddedKafkaBroker broker, String topic, int records, String payload) {
+        var producerFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer());
+        try {
+            var kafkaTemplate = new KafkaTemplate<>(producerFactory);
+            for (var record = 0; record < records; record++) {
+                kafkaTemplate.send(topic, "order-" + record, payload);
+            }
+            kafkaTemplate.flush();
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    private long countCommittedOutput(EmbeddedKafkaBroker broker) {
+        var consumerProps = KafkaTestUtils.consumerProps("benchmark-output", "false", broker);
+        consumerProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        var consumerFactory = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer());
+        try (var consumer = consumerFactory.createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, OUTPUT_TOPIC);
+            var count = 0L;
+            var received = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10));
+            while (received.count() > 0) {
+                count += received.count();
+                received = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(2));
+            }
+            return count;
+        }
+    }
+
+    private record Measurement(long records, long elapsedMs, double throughput) {
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.microservices.choreography.inventoryservice.config.kafka;
+
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.inventoryservice.core.consumer.ListenerShutdownDrain;
+import br.com.microservices.choreography.inventoryservice.core.consumer.OrderedEventDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@EmbeddedKafka(partitions = RollingRestartTest.PARTITIONS, topics = RollingRestartTest.TOPIC)
+class RollingRestartTest {
+
+    static final String TOPIC = "inventory-success";
+    static final int PARTITIONS = 6;
+
+    private static final String GROUP_ID = "inventory-group";
+    private static final int INSTANCES = 3;
+    private static final int CONCURRENCY = 2;
+    private static final int SESSION_TIMEOUT_MS = 10_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+    private static final long SEND_INTERVAL_MS = 10;
+    private static final long SETTLE_MS = 1_000;
+    private static final long TIMEOUT_MS = 30_000;
+
+    private final Map<Integer, List<Long>> processedAtByPartition = new ConcurrentHashMap<>();
+    private final Set<String> processedValues = ConcurrentHashMap.newKeySet();
+    private final List<String> sentValues = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean sending = new AtomicBoolean(true);
+    private final List<ConcurrentMessageListenerContainer<Object, Object>> containers = new ArrayList<>();
+    private ProducerFactory<String, String> producerFactory;
+
+    @AfterEach
+    void stopInstances() {
+        sending.set(false);
+        containers.forEach(ConcurrentMessageListenerContainer::stop);
+        if (producerFactory != null) {
+            ((DefaultKafkaProducerFactory<String, String>) producerFactory).destroy();
+        }
+    }
+
+    @Test
+    void keepsProcessingPausesShortDuringARollingRestart(EmbeddedKafkaBroker broker) throws Exception {
+        producerFactory = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer());
+        var configs = new ArrayList<KafkaConfig>();
+        for (var instance = 0; instance < INSTANCES; instance++) {
+            configs.add(createKafkaConfig(broker, "inventory-" + instance));
+            containers.add(startInstance(configs.get(instance)));
+        }
+        awaitAssignment();
+        var producer = startProducer(new KafkaTemplate<>(producerFactory));
+        Thread.sleep(SETTLE_MS);
+
+        var restartStartedAt = System.currentTimeMillis();
+        for (var instance = 0; instance < INSTANCES; instance++) {
+            drain(containers.get(instance));
+            containers.get(instance).stop();
+            containers.set(instance, startInstance(configs.get(instance)));
+            awaitAssignment();
+            Thread.sleep(SETTLE_MS);
+        }
+        var restartEndedAt = System.currentTimeMillis();
+        sending.set(false);
+        producer.join();
+        awaitProcessed();
+
+        var partitionPauseMs = maxPartitionPause(restartStartedAt, restartEndedAt);
+        var groupPauseMs = maxGroupPause(restartStartedAt, restartEndedAt);
+        log.info("Rolling restart of {} instances | LONGEST PARTITION PAUSE {} ms | LONGEST GROUP PAUSE {} ms",
+                INSTANCES, partitionPauseMs, groupPauseMs);
+        assertThat(processedValues).containsAll(sentValues);
+        assertThat(partitionPauseMs).isLessThan(SESSION_TIMEOUT_MS);
+        assertThat(groupPauseMs).isLessThan(SESSION_TIMEOUT_MS / 2);
+    }
+
+    private KafkaConfig createKafkaConfig(EmbeddedKafkaBroker broker, String groupInstanceId) {
+        var kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(kafkaConfig, "groupId", GROUP_ID);
+        ReflectionTestUtils.setField(kafkaConfig, "autoOffsetReset", "earliest");
+        ReflectionTestUtils.setField(kafkaConfig, "cooperativeRebalancing", true);
+        ReflectionTestUtils.setField(kafkaConfig, "groupInstanceId", groupInstanceId);
+        ReflectionTestUtils.setField(kafkaConfig, "sessionTimeoutMs", SESSION_TIMEOUT_MS);
+        ReflectionTestUtils.setField(kafkaConfig, "shutdownTimeoutMs", SHUTDOWN_TIMEOUT_MS);
+        ReflectionTestUtils.setField(kafkaConfig, "maxRequestSize", 1_048_576);
+        return kafkaConfig;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMessageListenerContainer<Object, Object> startInstance(KafkaConfig kafkaConfig) {
+        var containerProperties = new ContainerProperties(TOPIC);
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setMessageListener((AcknowledgingMessageListener<Object, Object>) (record, ack) -> {
+            process(record);
+            ack.acknowledge();
+        });
+        var consumerFactory = (ConsumerFactory<Object, Object>) (ConsumerFactory<?, ?>) kafkaConfig.consumerFactory();
+        var container = new ConcurrentMessageListenerContainer<>(consumerFactory, containerProperties);
+        container.setConcurrency(CONCURRENCY);
+        kafkaConfig.kafkaContainerCustomizer(producerFactory, mock(DedupeCache.class)).configure(container);
+        container.start();
+        return container;
+    }
+
+    private void process(ConsumerRecord<Object, Object> record) {
+        processedAtByPartition
+                .computeIfAbsent(record.partition(), partition -> new CopyOnWriteArrayList<>())
+                .add(System.currentTimeMillis());
+        processedValues.add((String) record.value());
+    }
+
+    private void drain(ConcurrentMessageListenerContainer<Object, Object> container) throws InterruptedException {
+        var registry = mock(KafkaListenerEndpointRegistry.class);
+        when(registry.getListenerContainers()).thenReturn(List.of(container));
+        var dispatcher = mock(OrderedEventDispatcher.class);
+        when(dispatcher.awaitIdle(anyLong())).thenReturn(true);
+        var drain = new ListenerShutdownDrain(registry, dispatcher);
+        ReflectionTestUtils.setField(drain, "shutdownTimeoutMs", SHUTDOWN_TIMEOUT_MS);
+        drain.stop();
+    }
+
+    private Thread startProducer(KafkaTemplate<String, String> kafkaTemplate) {
+        var sequence = new AtomicInteger();
+        var producer = new Thread(() -> {
+            while (sending.get()) {
+                var value = "order-" + sequence.incrementAndGet();
+                kafkaTemplate.send(TOPIC, sequence.get() % PARTITIONS, value, value);
+                sentValues.add(value);
+                try {
+                    Thread.sleep(SEND_INTERVAL_MS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            kafkaTemplate.flush();
+        });
+        producer.start();
+        return producer;
+    }
+
+    private void awaitAssignment() throws InterruptedException {
+        awaitCondition(() -> containers
+                .stream()
+                .mapToInt(container -> container.getAssignedPartitions().size())
+                .sum() == PARTITIONS);
+    }
+
+    private void awaitProcessed() throws InterruptedException {
+        awaitCondition(() -> processedValues.containsAll(sentValues));
+    }
+
+    private void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private long maxPartitionPause(long from, long to) {
+        return processedAtByPartition
+                .values()
+                .stream()
+                .mapToLong(processedAt -> maxGap(processedAt, from, to))
+                .max()
+                .orElseThrow();
+    }
+
+    private long maxGroupPause(long from, long to) {
+        return maxGap(processedAtByPartition
+                .values()
+                .stream()
+                .flatMap(List::stream)
+                .sorted()
+                .toList(), from, to);
+    }
+
+    private static long maxGap(List<Long> processedAt, long from, long to) {
+        var maxGap = 0L;
+        var previous = from;
+        for (var timestamp : processedAt.stream().sorted().toList()) {
+            if (timestamp < from) {
+                continue;
+            }
+            if (timestamp > to) {
+                break;
+            }
+            maxGap = Math.max(maxGap, timestamp - previous);
+            previous = timestamp;
+        }
+        return Math.max(maxGap, to - previous);
+    }
+}
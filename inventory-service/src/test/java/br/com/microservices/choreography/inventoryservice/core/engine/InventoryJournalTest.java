@@ -0,0 +1,208 @@
+package br.com.microservices.choreography.inventoryservice.core.engine;
+
+import br.com.microservices.choreography.inventoryservice.core.enums.EJournalOperation;
+import br.com.microservices.choreography.inventoryservice.core.model.InventoryJournalCheckpoint;
+import br.com.microservices.choreography.inventoryservice.core.model.OrderInventory;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryJournalCheckpointRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.InventoryRepository;
+import br.com.microservices.choreography.inventoryservice.core.repository.OrderInventoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryJournalTest {
+
+    private static final Integer CHECKPOINT_ID = 1;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+    private final OrderInventoryRepository orderInventoryRepository = mock(OrderInventoryRepository.class);
+    private final InventoryJournalCheckpointRepository checkpointRepository =
+            mock(InventoryJournalCheckpointRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private Path journalPath;
+    private InventoryJournal journal;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void createJournal() {
+        journalPath = directory.resolve("inventory.journal");
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        journal = new InventoryJournal(objectMapper, inventoryRepository, orderInventoryRepository,
+                checkpointRepository, transactionTemplate);
+        ReflectionTestUtils.setField(journal, "journalPath", journalPath.toString());
+        ReflectionTestUtils.setField(journal, "batchSize", 10);
+        ReflectionTestUtils.setField(journal, "applyRetryIntervalMs", 10L);
+    }
+
+    @AfterEach
+    void stopJournal() throws Exception {
+        journal.stop();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysEntriesWrittenAfterTheCheckpoint() throws Exception {
+        writeJournal(
+                entry(1, EJournalOperation.RESERVE, "order-1", line(1, 2)),
+                entry(2, EJournalOperation.RESERVE, "order-2", line(1, 3), line(2, 1)),
+                entry(3, EJournalOperation.RELEASE, "order-1", line(1, 2)));
+        givenCheckpoint(1L);
+
+        journal.recover();
+
+        verify(inventoryRepository).increaseAvailable(1, -1);
+        verify(inventoryRepository).increaseAvailable(2, -1);
+        var savedOrderInventories = ArgumentCaptor.forClass(List.class);
+        verify(orderInventoryRepository).saveAll(savedOrderInventories.capture());
+        assertThat((List<OrderInventory>) savedOrderInventories.getValue())
+                .extracting(OrderInventory::getOrderId, OrderInventory::getOrderQuantity)
+                .containsExactly(tuple("order-2", 3), tuple("order-2", 1));
+        verify(orderInventoryRepository).markRestored(eq("order-1"), eq("transaction-1"), any(LocalDateTime.class));
+        assertCheckpointSaved(3L);
+        assertThat(Files.size(journalPath)).isZero();
+    }
+
+    @Test
+    void skipsReplayWhenTheCheckpointCoversTheJournal() throws Exception {
+        writeJournal(
+                entry(1, EJournalOperation.RESERVE, "order-1", line(1, 2)),
+                entry(2, EJournalOperation.RELEASE, "order-1", line(1, 2)));
+        givenCheckpoint(2L);
+
+        journal.recover();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(inventoryRepository, never()).increaseAvailable(anyInt(), anyInt());
+    }
+
+    @Test
+    void ignoresATornEntryAtTheEndOfTheJournal() throws Exception {
+        writeJournal(entry(1, EJournalOperation.RESERVE, "order-1", line(1, 2)));
+        Files.writeString(journalPath, "{\"sequence\":2,\"operation\":\"RES", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        givenCheckpoint(0L);
+
+        journal.recover();
+
+        verify(inventoryRepository).increaseAvailable(1, -2);
+        assertCheckpointSaved(1L);
+    }
+
+    @Test
+    void continuesTheSequenceAfterRecovery() throws Exception {
+        writeJournal(
+                entry(4, EJournalOperation.RESERVE, "order-1", line(1, 2)),
+                entry(5, EJournalOperation.RESERVE, "order-2", line(1, 1)));
+        givenCheckpoint(5L);
+        journal.recover();
+
+        var next = entry(0, EJournalOperation.RESERVE, "order-3", line(1, 1));
+        journal.append(next).get(5, TimeUnit.SECONDS);
+
+        assertThat(next.getSequence()).isEqualTo(6L);
+    }
+
+    @Test
+    void recoversFromAMissingJournalFile() {
+        when(checkpointRepository.findById(CHECKPOINT_ID)).thenReturn(Optional.empty());
+
+        journal.recover();
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        assertThat(journalPath).exists();
+    }
+
+    @Test
+    void tracksAppendedEntriesUntilTheyAreApplied() throws Exception {
+        givenCheckpoint(0L);
+        journal.recover();
+
+        journal.append(entry(0, EJournalOperation.RESERVE, "order-1", line(1, 2))).get(5, TimeUnit.SECONDS);
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.findUnapplied("order-1", "transaction-1").isPresent() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(journal.findUnapplied("order-1", "transaction-1")).isEmpty();
+        verify(inventoryRepository).increaseAvailable(1, -2);
+        verify(orderInventoryRepository, never()).markRestored(anyString(), anyString(), any(LocalDateTime.class));
+    }
+
+    private void givenCheckpoint(Long lastSequence) {
+        when(checkpointRepository.findById(CHECKPOINT_ID))
+                .thenReturn(Optional.of(new InventoryJournalCheckpoint(CHECKPOINT_ID, lastSequence)));
+    }
+
+    private void assertCheckpointSaved(Long lastSequence) {
+        var checkpoint = ArgumentCaptor.forClass(InventoryJournalCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getLastSequence()).isEqualTo(lastSequence);
+    }
+
+    private void writeJournal(JournalEntry... entries) throws Exception {
+        var lines = new ArrayList<String>();
+        for (var entry : entries) {
+            lines.add(objectMapper.writeValueAsString(entry));
+        }
+        Files.write(journalPath, lines, StandardCharsets.UTF_8);
+    }
+
+    private static JournalEntry entry(long sequence, EJournalOperation operation, String orderId,
+                                      JournalLine... lines) {
+        return JournalEntry
+                .builder()
+                .sequence(sequence)
+                .operation(operation)
+                .orderId(orderId)
+                .transactionId("transaction-1")
+                .lines(List.of(lines))
+                .build();
+    }
+
+    private static JournalLine line(Integer inventoryId, int orderQuantity) {
+        return JournalLine
+                .builder()
+                .inventoryId(inventoryId)
+                .productCode("PRODUCT-" + inventoryId)
+                .orderQuantity(orderQuantity)
+                .oldQuantity(10)
+                .newQuantity(10 - orderQuantity)
+                .build();
+    }
+}
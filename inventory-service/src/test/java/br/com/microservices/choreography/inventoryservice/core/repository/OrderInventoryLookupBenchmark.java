@@ -0,0 +1,130 @@
+package br.com.microservices.choreography.inventoryservice.core.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+/**
+ * Measures the (order_id, transaction_id) lookup behind existsByOrderIdAndTransactionId on a large
+ * order_inventory table, with the migrated index and after dropping it. Runs with {@code gradle benchmark};
+ * BENCHMARK_ORDER_INVENTORY_ROWS overrides the 10M row default.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderInventoryLookupBenchmark {
+
+    private static final long DEFAULT_ROWS = 10_000_000;
+    private static final int INDEXED_LOOKUPS = 10_000;
+    private static final int SEQUENTIAL_SCAN_LOOKUPS = 20;
+    private static final int WARM_UP_LOOKUPS = 1_000;
+    private static final String LOOKUP = "select o.id from order_inventory o "
+            + "where o.order_id = ? and o.transaction_id = ? fetch first 1 rows only";
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private long rows;
+
+    @BeforeAll
+    void createTable() throws Exception {
+        var configuredRows = System.getenv("BENCHMARK_ORDER_INVENTORY_ROWS");
+        rows = isEmpty(configuredRows) ? DEFAULT_ROWS : Long.parseLong(configuredRows);
+        postgres = EmbeddedPostgres.start();
+        dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            var startedAt = System.nanoTime();
+            statement.execute("""
+                    INSERT INTO order_inventory (id, inventory_id, order_id, transaction_id, order_quantity,
+                                                 old_quantity, new_quantity, created_at, updated_at)
+                    SELECT i, (SELECT MIN(id) FROM inventory), 'order-' || i, 'transaction-' || i, 1, 10, 9,
+                           CURRENT_DATE + MOD(i, 7) * INTERVAL '1 day', CURRENT_DATE + MOD(i, 7) * INTERVAL '1 day'
+                    FROM generate_series(1, %d) i
+                    """.formatted(rows));
+            statement.execute("ANALYZE order_inventory");
+            log.info("Loaded {} order_inventory rows in {} s.",
+                    rows, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt));
+        }
+    }
+
+    @AfterAll
+    void stopDatabase() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void indexedLookupsStayFastAtScale() throws Exception {
+        try (var connection = dataSource.getConnection()) {
+            assertThat(explain(connection)).contains("Index");
+            lookups(connection, WARM_UP_LOOKUPS);
+            var indexed = lookups(connection, INDEXED_LOOKUPS);
+
+            try (var statement = connection.createStatement()) {
+                statement.execute("DROP INDEX ix_order_inventory_order_id_transaction_id");
+            }
+            assertThat(explain(connection)).doesNotContain("Index");
+            var sequentialScan = lookups(connection, SEQUENTIAL_SCAN_LOOKUPS);
+
+            log.info("order_inventory lookups on {} rows | INDEXED p50 {} us p99 {} us "
+                            + "| SEQUENTIAL SCAN p50 {} us p99 {} us",
+                    rows, percentile(indexed, 50), percentile(indexed, 99),
+                    percentile(sequentialScan, 50), percentile(sequentialScan, 99));
+            assertThat(percentile(indexed, 99)).isLessThan(percentile(sequentialScan, 50));
+        }
+    }
+
+    private String explain(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("EXPLAIN " + LOOKUP)) {
+            statement.setString(1, "order-1");
+            statement.setString(2, "transaction-1");
+            var plan = new StringBuilder();
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private long[] lookups(Connection connection, int count) throws SQLException {
+        var latenciesMicros = new long[count];
+        try (var statement = connection.prepareStatement(LOOKUP)) {
+            for (var lookup = 0; lookup < count; lookup++) {
+                // Half of the keys exist, the other half are new orders that miss.
+                var id = ThreadLocalRandom.current().nextLong(1, rows * 2);
+                statement.setString(1, "order-" + id);
+                statement.setString(2, "transaction-" + id);
+                var startedAt = System.nanoTime();
+                try (var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                }
+                latenciesMicros[lookup] = (System.nanoTime() - startedAt) / 1_000;
+            }
+        }
+        return latenciesMicros;
+    }
+
+    private static long percentile(long[] latencies, int percentile) {
+        var sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.microservices.choreography.orderservice.config.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,4 +15,19 @@ public class ExceptionGlobalHandler {
         return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<?> handleConflictException(ConflictException conflictException) {
+        var details = new ExceptionDatails(HttpStatus.CONFLICT.value(), conflictException.getMessage());
+        return new ResponseEntity<>(details, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> handleTooManyRequestsException(TooManyRequestsException tooManyRequestsException) {
+        var details = new ExceptionDatails(HttpStatus.TOO_MANY_REQUESTS.value(), tooManyRequestsException.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooManyRequestsException.getRetryAfterSeconds()))
+                .body(details);
+    }
+
 }
@@ -3,26 +3,33 @@ package br.com.microservices.choreography.orderservice.config.kafka;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.springframework.util.ObjectUtils.isEmpty;
+
 @RequiredArgsConstructor
 @Configuration
 @EnableKafka
 public class KafkaConfig {
 
     private static final Integer REPLICA_COUNT = 1;
-    private static final Integer PARTITIONS_COUNT = 1;
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
@@ -33,12 +40,45 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.auto-offset-reset}")
     private String autoOffsetReset;
 
+    @Value("${app.kafka.consumer.cooperative-rebalancing}")
+    private boolean cooperativeRebalancing;
+
+    @Value("${app.kafka.consumer.group-instance-id}")
+    private String groupInstanceId;
+
+    @Value("${app.kafka.consumer.session-timeout-ms}")
+    private int sessionTimeoutMs;
+
+    @Value("${app.kafka.consumer.shutdown-timeout-ms}")
+    private long shutdownTimeoutMs;
+
+    @Value("${app.kafka.topic.partitions}")
+    private int partitionsCount;
+
+    @Value("${app.kafka.producer.compression-type}")
+    private String compressionType;
+
+    @Value("${app.kafka.producer.max-request-size}")
+    private int maxRequestSize;
+
+    @Value("${app.kafka.exactly-once.enabled}")
+    private boolean exactlyOnce;
+
     @Value("${spring.kafka.topic.product-validation-start}")
     private String productValidationStartTopic;
 
     @Value("${spring.kafka.topic.notify-ending}")
     private String notifyEndingTopic;
 
+    @Value("${spring.kafka.topic.saga-join}")
+    private String sagaJoinTopic;
+
+    @Value("${spring.kafka.topic.order-ingest}")
+    private String orderIngestTopic;
+
+    @Value("${spring.kafka.topic.order-ingest-reply}")
+    private String orderIngestReplyTopic;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         return new DefaultKafkaConsumerFactory<>(consumerProps());
@@ -51,9 +91,61 @@ public class KafkaConfig {
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, sessionTimeoutMs);
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, maxRequestSize);
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, Math.max(maxRequestSize, ConsumerConfig.DEFAULT_FETCH_MAX_BYTES));
+        if (exactlyOnce) {
+            props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        }
+        if (cooperativeRebalancing) {
+            props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        }
         return props;
     }
 
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer() {
+        return container -> {
+            var containerProperties = container.getContainerProperties();
+            containerProperties.setShutdownTimeout(shutdownTimeoutMs);
+            if (!isEmpty(groupInstanceId)) {
+                var topics = String.join("-", containerProperties.getTopics());
+                containerProperties
+                        .getKafkaConsumerProperties()
+                        .setProperty(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId + "-" + topics);
+            }
+        };
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        return createListenerContainerFactory(configurer, consumerFactory, kafkaContainerCustomizer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderIngestListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        var factory = createListenerContainerFactory(configurer, consumerFactory, kafkaContainerCustomizer);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> createListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<String, String> consumerFactory,
+            ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> kafkaContainerCustomizer) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<Object, Object>();
+        configurer.configure(factory, (ConsumerFactory<Object, Object>) (ConsumerFactory<?, ?>) consumerFactory);
+        factory.setContainerCustomizer(kafkaContainerCustomizer);
+        return factory;
+    }
+
     @Bean
     public ProducerFactory<String, String> producerFactory() {
         return new DefaultKafkaProducerFactory<>(producerProps());
@@ -64,6 +156,8 @@ public class KafkaConfig {
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, maxRequestSize);
         return props;
     }
 
@@ -76,7 +170,8 @@ public class KafkaConfig {
         return TopicBuilder
                 .name(name)
                 .replicas(REPLICA_COUNT)
-                .partitions(PARTITIONS_COUNT)
+                .partitions(partitionsCount)
+                .config(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, String.valueOf(maxRequestSize))
                 .build();
     }
 
@@ -89,4 +184,19 @@ public class KafkaConfig {
     public NewTopic notifyEndingTopic() {
         return buildTopic(notifyEndingTopic);
     }
+
+    @Bean
+    public NewTopic sagaJoinTopic() {
+        return buildTopic(sagaJoinTopic);
+    }
+
+    @Bean
+    public NewTopic orderIngestTopic() {
+        return buildTopic(orderIngestTopic);
+    }
+
+    @Bean
+    public NewTopic orderIngestReplyTopic() {
+        return buildTopic(orderIngestReplyTopic);
+    }
 }
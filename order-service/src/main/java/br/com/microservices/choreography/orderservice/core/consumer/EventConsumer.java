@@ -1,6 +1,7 @@
 package br.com.microservices.choreography.orderservice.core.consumer;
 
 import br.com.microservices.choreography.orderservice.core.service.EventService;
+import br.com.microservices.choreography.orderservice.core.service.SagaJoinService;
 import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 public class EventConsumer {
     private JsonUtil jsonUtil;
     private final EventService eventService;
+    private final SagaJoinService sagaJoinService;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
@@ -23,4 +25,14 @@ public class EventConsumer {
         var event = jsonUtil.toEvent(payload);
         eventService.notifyEnding(event);
     }
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.saga-join}"
+    )
+    public void consumeSagaJoinEvent(String payload) {
+        log.info("Receiving branch outcome event {} from saga-join topic", payload);
+        var event = jsonUtil.toEvent(payload);
+        sagaJoinService.join(event);
+    }
 }
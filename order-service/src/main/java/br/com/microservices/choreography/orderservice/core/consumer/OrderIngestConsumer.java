@@ -0,0 +1,29 @@
+package br.com.microservices.choreography.orderservice.core.consumer;
+
+import br.com.microservices.choreography.orderservice.core.service.OrderIngestService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@AllArgsConstructor
+@Component
+public class OrderIngestConsumer {
+    private final OrderIngestService orderIngestService;
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}",
+            topics = "${spring.kafka.topic.order-ingest}",
+            containerFactory = "orderIngestListenerContainerFactory",
+            autoStartup = "${app.order.ingest.enabled}",
+            properties = "max.poll.records=${app.order.ingest.max-batch-size}"
+    )
+    public void consumeOrderIngestBatch(List<ConsumerRecord<String, String>> records) {
+        log.info("Receiving {} orders from order-ingest topic", records.size());
+        orderIngestService.ingest(records);
+    }
+}
@@ -7,23 +7,45 @@ import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
+import static java.lang.String.format;
+import static org.springframework.util.ObjectUtils.isEmpty;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/event")
 public class EventController {
 
+    private static final String ETAG_PATTERN = "\"%s-%s-%s\"";
+
     private final EventService eventService;
 
     @GetMapping
-    public Event findByFilters(EventFilters eventFilters) {
-        return eventService.findByFilters(eventFilters);
+    public Event findByFilters(EventFilters eventFilters, WebRequest request) {
+        var event = eventService.findByFilters(eventFilters);
+        if (request.checkNotModified(createETag(event))) {
+            return null;
+        }
+        return event;
     }
 
     @GetMapping("all")
     public List<Event> findAll() {
         return eventService.findAll();
     }
+
+    @GetMapping("timed-out")
+    public List<Event> findTimedOut() {
+        return eventService.findTimedOut();
+    }
+
+    private String createETag(Event event) {
+        var lastChange = isEmpty(event.getEventHistory())
+                ? event.getCreatedAt()
+                : event.getEventHistory().get(event.getEventHistory().size() - 1).getCreatedAt();
+        return format(ETAG_PATTERN, event.getId(), event.getStatus(), lastChange);
+    }
 }
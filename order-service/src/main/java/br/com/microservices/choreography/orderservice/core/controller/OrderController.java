@@ -2,22 +2,57 @@ package br.com.microservices.choreography.orderservice.core.controller;
 
 import br.com.microservices.choreography.orderservice.core.document.Order;
 import br.com.microservices.choreography.orderservice.core.dto.OrderRequest;
+import br.com.microservices.choreography.orderservice.core.service.AdmissionControlService;
+import br.com.microservices.choreography.orderservice.core.service.IdempotencyService;
 import br.com.microservices.choreography.orderservice.core.service.OrderService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/order")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String ORDER_PRODUCTS_STREAM = "application/x-ndjson";
+
     private final OrderService orderService;
+    private final AdmissionControlService admissionControlService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public Order create(@RequestBody OrderRequest orderRequest) {
-        return orderService.createOrder(orderRequest);
+    public Order create(@RequestBody OrderRequest orderRequest,
+                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, () -> admitAndCreate(orderRequest));
+    }
+
+    @PostMapping(consumes = ORDER_PRODUCTS_STREAM)
+    public Order createFromStream(HttpServletRequest request,
+                                  @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey)
+            throws IOException {
+        var orderRequest = orderService.readOrderRequest(request.getInputStream());
+        return idempotencyService.execute(idempotencyKey, () -> admitAndCreate(orderRequest));
+    }
+
+    private Order admitAndCreate(OrderRequest orderRequest) {
+        admissionControlService.acquire();
+        var trackedOrderId = new AtomicReference<String>();
+        try {
+            return orderService.createOrder(orderRequest, order -> {
+                admissionControlService.track(order.getId());
+                trackedOrderId.set(order.getId());
+            });
+        } catch (RuntimeException ex) {
+            admissionControlService.release(trackedOrderId.get());
+            throw ex;
+        }
     }
 }
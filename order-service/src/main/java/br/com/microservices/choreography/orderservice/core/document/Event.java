@@ -29,6 +29,8 @@ public class Event {
     private ESagaStatus status;
     private List<History> eventHistory;
     private LocalDateTime createdAt;
+    private LocalDateTime timeoutAt;
+    private LocalDateTime deadline;
 
     public void addHistory(History history) {
         if (isEmpty(eventHistory)) {
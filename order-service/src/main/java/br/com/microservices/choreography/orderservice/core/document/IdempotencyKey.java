@@ -0,0 +1,23 @@
+package br.com.microservices.choreography.orderservice.core.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Document(collection = "idempotency_key")
+public class IdempotencyKey {
+    @Id
+    private String id;
+    private String orderId;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
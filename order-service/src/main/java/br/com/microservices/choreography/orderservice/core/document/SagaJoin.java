@@ -0,0 +1,27 @@
+package br.com.microservices.choreography.orderservice.core.document;
+
+import br.com.microservices.choreography.orderservice.core.enums.ESagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@Document(collection = "saga_join")
+public class SagaJoin {
+    @Id
+    private String id;
+    private String orderId;
+    private ESagaStatus paymentStatus;
+    private ESagaStatus inventoryStatus;
+    private Event paymentEvent;
+    private Event inventoryEvent;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package br.com.microservices.choreography.orderservice.core.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderIngestReply {
+    private String correlationId;
+    private String orderId;
+    private String transactionId;
+    private boolean success;
+    private String message;
+}
@@ -3,5 +3,6 @@ package br.com.microservices.choreography.orderservice.core.enums;
 public enum ESagaStatus {
     SUCCESS,
     ROLLBACK_PENDING,
-    FAIL
+    FAIL,
+    TIMED_OUT
 }
@@ -17,12 +17,20 @@ public class SagaProducer {
     private String productValidationStartTopic;
 
     public void sendEvent(String payload) {
+        sendEvent(payload, productValidationStartTopic);
+    }
+
+    public void sendEvent(String payload, String topic) {
+        sendEvent(payload, topic, null);
+    }
+
+    public void sendEvent(String payload, String topic, String key) {
         try {
-            log.info("Sending event to topic {} with data {}", productValidationStartTopic, payload);
-            kafkaTemplate.send(productValidationStartTopic, payload);
+            log.info("Sending event to topic {} with data {}", topic, payload);
+            kafkaTemplate.send(topic, key, payload);
         }
         catch (Exception ex) {
-            log.error("Error trying to send data to topic {} with data {}.", productValidationStartTopic, payload, ex);
+            log.error("Error trying to send data to topic {} with data {}.", topic, payload, ex);
         }
     }
 }
@@ -1,6 +1,7 @@
 package br.com.microservices.choreography.orderservice.core.repository;
 
 import br.com.microservices.choreography.orderservice.core.document.Event;
+import br.com.microservices.choreography.orderservice.core.enums.ESagaStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
@@ -13,4 +14,6 @@ public interface EventRepository extends MongoRepository<Event, String> {
     Optional<Event> findTop1ByTransactionIdOrderByCreatedAtDesc(String transactionId);
 
     List<Event> findAllByOrderByCreatedAtDesc();
+
+    List<Event> findAllByStatusOrderByCreatedAtDesc(ESagaStatus status);
 }
@@ -0,0 +1,235 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.config.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdmissionControlService {
+
+    private static final long ADMIN_TIMEOUT_SECONDS = 5;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Long> inFlightSagas = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder latencySumMs = new LongAdder();
+    private final LongAdder latencyCount = new LongAdder();
+
+    @Value("${app.admission.enabled}")
+    private boolean enabled;
+
+    @Value("${app.admission.limit}")
+    private int initialLimit;
+
+    @Value("${app.admission.retry-after-seconds}")
+    private long retryAfterSeconds;
+
+    @Value("${app.admission.in-flight-expiry-ms}")
+    private long inFlightExpiryMs;
+
+    @Value("${app.admission.adaptive.enabled}")
+    private boolean adaptive;
+
+    @Value("${app.admission.adaptive.min-limit}")
+    private int minLimit;
+
+    @Value("${app.admission.adaptive.max-limit}")
+    private int maxLimit;
+
+    @Value("${app.admission.adaptive.target-latency-ms}")
+    private double targetLatencyMs;
+
+    @Value("${app.admission.adaptive.smoothing}")
+    private double smoothing;
+
+    @Value("${app.admission.lag.enabled}")
+    private boolean lagEnabled;
+
+    @Value("${app.admission.lag.groups}")
+    private List<String> lagGroups;
+
+    @Value("${app.admission.lag.max-lag}")
+    private long maxLag;
+
+    private volatile double limit;
+    private volatile long downstreamLag;
+    private AdminClient adminClient;
+    private Timer sagaLatency;
+
+    @PostConstruct
+    public void start() {
+        limit = initialLimit;
+        if (!enabled) {
+            return;
+        }
+        sagaLatency = Timer.builder("saga.latency")
+                .description("Time from order admission to notify-ending")
+                .register(meterRegistry);
+        Gauge.builder("admission.limit", this, service -> service.limit)
+                .description("Current concurrency limit for new sagas")
+                .register(meterRegistry);
+        Gauge.builder("admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Admitted sagas that have not reached notify-ending")
+                .register(meterRegistry);
+        Gauge.builder("admission.downstream.lag", this, service -> service.downstreamLag)
+                .description("Consumer lag of the downstream saga stages")
+                .register(meterRegistry);
+        if (lagEnabled) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (adminClient != null) {
+            adminClient.close(Duration.ofSeconds(ADMIN_TIMEOUT_SECONDS));
+        }
+    }
+
+    public void acquire() {
+        if (!enabled) {
+            return;
+        }
+        if (lagEnabled && downstreamLag > maxLag) {
+            reject("lag", "Downstream saga stages are lagging, try again later.");
+        }
+        while (true) {
+            var current = inFlight.get();
+            if (current >= (int) limit) {
+                reject("limit", "Too many orders in progress, try again later.");
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    public void track(String orderId) {
+        if (enabled) {
+            inFlightSagas.put(orderId, System.nanoTime());
+        }
+    }
+
+    public void release(String trackedOrderId) {
+        if (enabled && (trackedOrderId == null || inFlightSagas.remove(trackedOrderId) != null)) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public void complete(String orderId) {
+        if (!enabled) {
+            return;
+        }
+        var startedAt = inFlightSagas.remove(orderId);
+        if (startedAt == null) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        var latencyNanos = System.nanoTime() - startedAt;
+        sagaLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        latencySumMs.add(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        latencyCount.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.adaptive.window-ms}")
+    public void adjustLimit() {
+        if (!enabled || !adaptive) {
+            return;
+        }
+        var samples = latencyCount.sumThenReset();
+        var totalMs = latencySumMs.sumThenReset();
+        if (samples == 0 || inFlight.get() < limit / 2) {
+            return;
+        }
+        var averageMs = (double) totalMs / samples;
+        var gradient = Math.max(0.5, Math.min(1.0, targetLatencyMs / averageMs));
+        var newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+        log.debug("Admission limit {} | AVERAGE LATENCY {} ms | TARGET {} ms", limit, averageMs, targetLatencyMs);
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.lag.check-interval-ms}")
+    public void refreshDownstreamLag() {
+        if (!enabled || !lagEnabled) {
+            return;
+        }
+        try {
+            var totalLag = 0L;
+            for (var group : lagGroups) {
+                totalLag += fetchLag(group);
+            }
+            downstreamLag = totalLag;
+        } catch (Exception ex) {
+            log.warn("Error trying to read downstream consumer lag: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admission.in-flight-expiry-ms}")
+    public void expireInFlight() {
+        if (!enabled) {
+            return;
+        }
+        var expiredBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(inFlightExpiryMs);
+        inFlightSagas.forEach((orderId, startedAt) -> {
+            if (startedAt - expiredBefore < 0 && inFlightSagas.remove(orderId, startedAt)) {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private long fetchLag(String group) throws Exception {
+        var committed = adminClient
+                .listConsumerGroupOffsets(group)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (committed.isEmpty()) {
+            return 0;
+        }
+        var latestOffsets = committed.keySet()
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> OffsetSpec.latest()));
+        var latest = adminClient
+                .listOffsets(latestOffsets)
+                .all()
+                .get(ADMIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return committed.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() != null && latest.containsKey(entry.getKey()))
+                .mapToLong(entry -> Math.max(0, latest.get(entry.getKey()).offset() - entry.getValue().offset()))
+                .sum();
+    }
+
+    private void reject(String reason, String message) {
+        Counter.builder("admission.rejected")
+                .description("Orders rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        throw new TooManyRequestsException(message, retryAfterSeconds);
+    }
+}
@@ -7,32 +7,55 @@ import br.com.microservices.choreography.orderservice.config.exception.Validatio
 import br.com.microservices.choreography.orderservice.core.document.Event;
 import br.com.microservices.choreography.orderservice.core.enums.ESagaStatus;
 import br.com.microservices.choreography.orderservice.core.repository.EventRepository;
-import lombok.AllArgsConstructor;
+import br.com.microservices.choreography.orderservice.core.utils.SingleFlight;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class EventService {
 
     private static final String CURRENT_SERVICE = "ORDER_SERVICE";
+    private static final String ORDER_ID_LOOKUP = "orderId:";
+    private static final String TRANSACTION_ID_LOOKUP = "transactionId:";
     private final EventRepository eventRepository;
+    private final SagaTimeoutTracker sagaTimeoutTracker;
+    private final AdmissionControlService admissionControlService;
+    private final SingleFlight<String, Event> eventLookups = new SingleFlight<>();
+
+    @Value("${app.event-lookup.coalescing-enabled}")
+    private boolean coalescingEnabled;
+
+    @Value("${app.saga.deadline.enabled}")
+    private boolean deadlineEnabled;
+
+    @Value("${app.saga.deadline.ttl-ms}")
+    private long deadlineTtlMs;
 
     public Event findByFilters(EventFilters filters) {
         validateEmptyFilters(filters);
 
         if (!filters.getOrderId().isEmpty()) {
-            return findByOrderId(filters.getOrderId());
+            return coalesce(ORDER_ID_LOOKUP.concat(filters.getOrderId()), () -> findByOrderId(filters.getOrderId()));
         }
         else {
-            return findByTransactionId(filters.getTransactionId());
+            return coalesce(TRANSACTION_ID_LOOKUP.concat(filters.getTransactionId()),
+                    () -> findByTransactionId(filters.getTransactionId()));
         }
     }
 
+    private Event coalesce(String lookup, Supplier<Event> query) {
+        return coalescingEnabled ? eventLookups.execute(lookup, query) : query.get();
+    }
+
     private void validateEmptyFilters(EventFilters filters) {
         if (filters.getOrderId().isEmpty() && filters.getTransactionId().isEmpty()) {
             throw new ValidationException("OrderID or TransactionID must be informed.");
@@ -58,12 +81,19 @@ public class EventService {
         return eventRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    public List<Event> findTimedOut() {
+        return eventRepository.findAllByStatusOrderByCreatedAtDesc(ESagaStatus.TIMED_OUT);
+    }
+
     public void notifyEnding(Event event) {
         event.setSource(CURRENT_SERVICE);
         event.setOrderId(event.getPayload().getId());
         event.setCreatedAt(LocalDateTime.now());
+        event.setTimeoutAt(null);
         setEndingHistory(event);
         save(event);
+        sagaTimeoutTracker.complete(event);
+        admissionControlService.complete(event.getOrderId());
         log.info("Order {} with saga notified! TransactionId: {}", event.getOrderId(), event.getTransactionId());
     }
 
@@ -78,6 +108,18 @@ public class EventService {
     }
 
     public Event createEvent(Order order) {
+        var savedEvent = save(buildStartEvent(order));
+        sagaTimeoutTracker.register(savedEvent);
+        return savedEvent;
+    }
+
+    public List<Event> createEvents(List<Order> orders) {
+        var savedEvents = eventRepository.insert(orders.stream().map(this::buildStartEvent).toList());
+        savedEvents.forEach(sagaTimeoutTracker::register);
+        return savedEvents;
+    }
+
+    private Event buildStartEvent(Order order) {
         var event = Event
                 .builder()
                 .source(CURRENT_SERVICE)
@@ -86,9 +128,11 @@ public class EventService {
                 .transactionId(order.getTransactionId())
                 .payload(order)
                 .createdAt(LocalDateTime.now())
+                .timeoutAt(sagaTimeoutTracker.nextDeadline())
+                .deadline(deadlineEnabled ? LocalDateTime.now().plus(Duration.ofMillis(deadlineTtlMs)) : null)
                 .build();
         addHistory(event, "Saga started!");
-        return save(event);
+        return event;
     }
 
     private void addHistory(Event event, String message) {
@@ -0,0 +1,122 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.config.exception.ConflictException;
+import br.com.microservices.choreography.orderservice.config.exception.ValidationException;
+import br.com.microservices.choreography.orderservice.core.document.Order;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyStore idempotencyStore;
+    private final Map<String, CompletableFuture<Order>> executions = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.enabled}")
+    private boolean enabled;
+
+    @Value("${app.idempotency.max-key-length}")
+    private int maxKeyLength;
+
+    @Value("${app.idempotency.wait-timeout-ms}")
+    private long waitTimeoutMs;
+
+    public Optional<Order> findCompleted(String key) {
+        if (!enabled || isEmpty(key)) {
+            return Optional.empty();
+        }
+        return idempotencyStore.find(key);
+    }
+
+    public void remember(String key, Order order) {
+        if (enabled && !isEmpty(key)) {
+            idempotencyStore.complete(key, order);
+        }
+    }
+
+    public Order execute(String key, Supplier<Order> action) {
+        if (!enabled || isEmpty(key)) {
+            return action.get();
+        }
+        if (key.length() > maxKeyLength) {
+            throw new ValidationException("Idempotency-Key must have at most " + maxKeyLength + " characters.");
+        }
+        var execution = new CompletableFuture<Order>();
+        var running = executions.putIfAbsent(key, execution);
+        if (running != null) {
+            log.info("Joining in-flight order creation for Idempotency-Key {}.", key);
+            return join(running);
+        }
+        try {
+            var order = executeOnce(key, action);
+            execution.complete(order);
+            return order;
+        } catch (RuntimeException ex) {
+            execution.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            executions.remove(key, execution);
+        }
+    }
+
+    private Order executeOnce(String key, Supplier<Order> action) {
+        var stored = idempotencyStore.find(key);
+        if (stored.isPresent()) {
+            log.info("Returning stored order {} for Idempotency-Key {}.", stored.get().getId(), key);
+            return stored.get();
+        }
+        if (!idempotencyStore.reserve(key)) {
+            return awaitCompletion(key);
+        }
+        try {
+            var order = action.get();
+            idempotencyStore.complete(key, order);
+            return order;
+        } catch (RuntimeException ex) {
+            idempotencyStore.release(key);
+            throw ex;
+        }
+    }
+
+    private Order awaitCompletion(String key) {
+        var deadline = System.currentTimeMillis() + waitTimeoutMs;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                var stored = idempotencyStore.find(key);
+                if (stored.isPresent()) {
+                    return stored.get();
+                }
+                Thread.sleep(POLL_INTERVAL_MS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        throw new ConflictException("A request with this Idempotency-Key is still in progress.");
+    }
+
+    private Order join(CompletableFuture<Order> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.core.document.Order;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    Optional<Order> find(String key);
+
+    boolean reserve(String key);
+
+    void complete(String key, Order order);
+
+    void release(String key);
+}
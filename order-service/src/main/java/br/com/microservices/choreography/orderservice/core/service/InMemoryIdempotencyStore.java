@@ -0,0 +1,64 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.core.document.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(value = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, StoredOrder> orders = new ConcurrentHashMap<>();
+
+    @Value("${app.idempotency.ttl-ms}")
+    private long ttlMs;
+
+    @Override
+    public Optional<Order> find(String key) {
+        var stored = orders.get(key);
+        if (stored == null || stored.order() == null || stored.isExpired()) {
+            return Optional.empty();
+        }
+        return Optional.of(stored.order());
+    }
+
+    @Override
+    public boolean reserve(String key) {
+        var reservation = new StoredOrder(null, expiresAt());
+        var stored = orders.compute(key, (ignored, current) ->
+                current == null || current.isExpired() ? reservation : current);
+        return stored == reservation;
+    }
+
+    @Override
+    public void complete(String key, Order order) {
+        orders.put(key, new StoredOrder(order, expiresAt()));
+    }
+
+    @Override
+    public void release(String key) {
+        orders.computeIfPresent(key, (ignored, current) -> current.order() == null ? null : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms}")
+    public void evictExpired() {
+        orders.values().removeIf(StoredOrder::isExpired);
+    }
+
+    private long expiresAt() {
+        return System.currentTimeMillis() + ttlMs;
+    }
+
+    private record StoredOrder(Order order, long expiresAt) {
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.core.document.IdempotencyKey;
+import br.com.microservices.choreography.orderservice.core.document.Order;
+import br.com.microservices.choreography.orderservice.core.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.idempotency.store", havingValue = "mongo")
+public class MongoIdempotencyStore implements IdempotencyStore {
+
+    private static final String EXPIRES_AT = "expiresAt";
+    private static final String ORDER_ID = "orderId";
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderRepository orderRepository;
+
+    @Value("${app.idempotency.ttl-ms}")
+    private long ttlMs;
+
+    @PostConstruct
+    public void createIndexes() {
+        mongoTemplate
+                .indexOps(IdempotencyKey.class)
+                .ensureIndex(new Index().on(EXPIRES_AT, Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    @Override
+    public Optional<Order> find(String key) {
+        return Optional
+                .ofNullable(mongoTemplate.findOne(
+                        query(where("id").is(key).and(ORDER_ID).ne(null).and(EXPIRES_AT).gt(LocalDateTime.now())),
+                        IdempotencyKey.class))
+                .flatMap(idempotencyKey -> orderRepository.findById(idempotencyKey.getOrderId()));
+    }
+
+    @Override
+    public boolean reserve(String key) {
+        mongoTemplate.remove(query(where("id").is(key).and(EXPIRES_AT).lte(LocalDateTime.now())), IdempotencyKey.class);
+        try {
+            mongoTemplate.insert(IdempotencyKey
+                    .builder()
+                    .id(key)
+                    .createdAt(LocalDateTime.now())
+                    .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(ttlMs)))
+                    .build());
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void complete(String key, Order order) {
+        mongoTemplate.upsert(
+                query(where("id").is(key)),
+                new Update()
+                        .set(ORDER_ID, order.getId())
+                        .set(EXPIRES_AT, LocalDateTime.now().plus(Duration.ofMillis(ttlMs)))
+                        .setOnInsert("createdAt", LocalDateTime.now()),
+                IdempotencyKey.class);
+    }
+
+    @Override
+    public void release(String key) {
+        mongoTemplate.remove(query(where("id").is(key).and(ORDER_ID).is(null)), IdempotencyKey.class);
+    }
+}
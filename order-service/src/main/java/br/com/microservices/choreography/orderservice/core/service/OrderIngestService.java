@@ -0,0 +1,131 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.config.exception.TooManyRequestsException;
+import br.com.microservices.choreography.orderservice.config.exception.ValidationException;
+import br.com.microservices.choreography.orderservice.core.document.Order;
+import br.com.microservices.choreography.orderservice.core.dto.OrderIngestReply;
+import br.com.microservices.choreography.orderservice.core.dto.OrderIngestRequest;
+import br.com.microservices.choreography.orderservice.core.dto.OrderRequest;
+import br.com.microservices.choreography.orderservice.core.producer.SagaProducer;
+import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIngestService {
+
+    private static final String IDEMPOTENCY_KEY_PREFIX = "ingest:";
+
+    private final OrderService orderService;
+    private final IdempotencyStore idempotencyStore;
+    private final AdmissionControlService admissionControlService;
+    private final SagaProducer producer;
+    private final JsonUtil jsonUtil;
+
+    @Value("${spring.kafka.topic.order-ingest-reply}")
+    private String orderIngestReplyTopic;
+
+    public void ingest(List<ConsumerRecord<String, String>> records) {
+        var orders = new LinkedHashMap<String, Order>();
+        var pendingReplies = new ArrayList<String>();
+        for (var record : records) {
+            var request = jsonUtil.fromJson(record.value(), OrderIngestRequest.class);
+            var correlationId = request != null && !isEmpty(request.getCorrelationId())
+                    ? request.getCorrelationId()
+                    : record.key();
+            if (isEmpty(correlationId)) {
+                log.warn("Discarding order-ingest record {}-{}@{}: no correlationId or key to reply to.",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            if (orders.containsKey(correlationId)) {
+                pendingReplies.add(correlationId);
+                continue;
+            }
+            if (request == null || isEmpty(request.getProducts())) {
+                replyFailure(correlationId, "Order products must be informed.");
+                continue;
+            }
+            var orderRequest = new OrderRequest(request.getProducts());
+            try {
+                orderService.validateProductCount(orderRequest);
+            } catch (ValidationException ex) {
+                replyFailure(correlationId, ex.getMessage());
+                continue;
+            }
+            var stored = idempotencyStore.find(IDEMPOTENCY_KEY_PREFIX + correlationId);
+            if (stored.isPresent()) {
+                replySuccess(correlationId, stored.get());
+                continue;
+            }
+            try {
+                admissionControlService.acquire();
+            } catch (TooManyRequestsException ex) {
+                replyFailure(correlationId, ex.getMessage());
+                continue;
+            }
+            orders.put(correlationId, orderService.buildOrder(orderRequest));
+            pendingReplies.add(correlationId);
+        }
+        if (orders.isEmpty()) {
+            return;
+        }
+        var correlationIds = new ArrayList<>(orders.keySet());
+        var savedOrders = createOrders(new ArrayList<>(orders.values()));
+        for (var index = 0; index < savedOrders.size(); index++) {
+            idempotencyStore.complete(IDEMPOTENCY_KEY_PREFIX + correlationIds.get(index), savedOrders.get(index));
+            orders.put(correlationIds.get(index), savedOrders.get(index));
+        }
+        pendingReplies.forEach(correlationId -> replySuccess(correlationId, orders.get(correlationId)));
+        log.info("Ingested {} orders from a batch of {} records.", savedOrders.size(), records.size());
+    }
+
+    private List<Order> createOrders(List<Order> orders) {
+        var trackedOrderIds = new HashSet<String>();
+        try {
+            return orderService.createOrders(orders, inserted -> inserted.forEach(order -> {
+                admissionControlService.track(order.getId());
+                trackedOrderIds.add(order.getId());
+            }));
+        } catch (RuntimeException ex) {
+            orders.forEach(order -> admissionControlService
+                    .release(trackedOrderIds.contains(order.getId()) ? order.getId() : null));
+            throw ex;
+        }
+    }
+
+    private void replySuccess(String correlationId, Order order) {
+        reply(correlationId, OrderIngestReply
+                .builder()
+                .correlationId(correlationId)
+                .orderId(order.getId())
+                .transactionId(order.getTransactionId())
+                .success(true)
+                .build());
+    }
+
+    private void replyFailure(String correlationId, String message) {
+        reply(correlationId, OrderIngestReply
+                .builder()
+                .correlationId(correlationId)
+                .success(false)
+                .message(message)
+                .build());
+    }
+
+    private void reply(String correlationId, OrderIngestReply reply) {
+        producer.sendEvent(jsonUtil.toJson(reply), orderIngestReplyTopic, correlationId);
+    }
+}
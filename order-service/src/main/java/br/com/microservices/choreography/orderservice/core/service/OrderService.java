@@ -1,20 +1,36 @@
 package br.com.microservices.choreography.orderservice.core.service;
 
+import br.com.microservices.choreography.orderservice.config.exception.TooManyRequestsException;
+import br.com.microservices.choreography.orderservice.config.exception.ValidationException;
+import br.com.microservices.choreography.orderservice.core.document.OrderProducts;
 import br.com.microservices.choreography.orderservice.core.dto.OrderRequest;
+import br.com.microservices.choreography.orderservice.core.utils.GroupCommitter;
 import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
 import br.com.microservices.choreography.orderservice.core.document.Event;
 import br.com.microservices.choreography.orderservice.core.document.Order;
 import br.com.microservices.choreography.orderservice.core.producer.SagaProducer;
 import br.com.microservices.choreography.orderservice.core.repository.OrderRepository;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class OrderService {
     private static final String TRANSACTION_ID_PATTERN = "%s_%s";
 
@@ -23,16 +39,112 @@ public class OrderService {
     private final SagaProducer producer;
     private final JsonUtil jsonUtil;
 
-    public Order createOrder(OrderRequest orderRequest) {
-        var order = Order
+    @Value("${app.order.max-products}")
+    private int maxProducts;
+
+    @Value("${app.order.group-commit.enabled}")
+    private boolean groupCommitEnabled;
+
+    @Value("${app.order.group-commit.max-batch-size}")
+    private int groupCommitMaxBatchSize;
+
+    @Value("${app.order.group-commit.max-wait-ms}")
+    private long groupCommitMaxWaitMs;
+
+    @Value("${app.order.group-commit.timeout-ms}")
+    private long groupCommitTimeoutMs;
+
+    private GroupCommitter<Order> groupCommitter;
+
+    @PostConstruct
+    public void start() {
+        if (groupCommitEnabled) {
+            groupCommitter = new GroupCommitter<>("order-group-commit",
+                    groupCommitMaxBatchSize, groupCommitMaxWaitMs, this::createOrders);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+    }
+
+    public OrderRequest readOrderRequest(InputStream body) {
+        var products = new ArrayList<OrderProducts>();
+        try {
+            jsonUtil.readValues(body, OrderProducts.class, orderProduct -> {
+                if (products.size() >= maxProducts) {
+                    throw new ValidationException(String.format("Order must have at most %d products.", maxProducts));
+                }
+                products.add(orderProduct);
+            });
+        } catch (IOException ex) {
+            throw new ValidationException("Invalid order products stream: ".concat(ex.getMessage()));
+        }
+        return new OrderRequest(products);
+    }
+
+    public Order createOrder(OrderRequest orderRequest, Consumer<Order> beforePublish) {
+        validateProductCount(orderRequest);
+        var order = buildOrder(orderRequest);
+        beforePublish.accept(order);
+        if (groupCommitter != null) {
+            return awaitGroupCommit(order);
+        }
+        orderRepository.save(order);
+        producer.sendEvent(jsonUtil.toJson(eventService.createEvent(order)));
+        return order;
+    }
+
+    public List<Order> createOrders(List<Order> orders) {
+        return createOrders(orders, savedOrders -> { });
+    }
+
+    public List<Order> createOrders(List<Order> orders, Consumer<List<Order>> beforePublish) {
+        var savedOrders = orderRepository.insert(orders);
+        beforePublish.accept(savedOrders);
+        eventService
+                .createEvents(savedOrders)
+                .forEach(event -> producer.sendEvent(jsonUtil.toJson(event)));
+        return savedOrders;
+    }
+
+    public Order buildOrder(OrderRequest orderRequest) {
+        return Order
                 .builder()
+                .id(new ObjectId().toHexString())
                 .products(orderRequest.getProducts())
                 .createdAt(LocalDateTime.now())
                 .transactionId(
                         String.format(TRANSACTION_ID_PATTERN, Instant.now().toEpochMilli(), UUID.randomUUID()))
                 .build();
-        orderRepository.save(order);
-        producer.sendEvent(jsonUtil.toJson(eventService.createEvent(order)));
-        return order;
+    }
+
+    public void validateProductCount(OrderRequest orderRequest) {
+        if (orderRequest.getProducts() != null && orderRequest.getProducts().size() > maxProducts) {
+            throw new ValidationException(String.format("Order must have at most %d products.", maxProducts));
+        }
+    }
+
+    private Order awaitGroupCommit(Order order) {
+        var pending = groupCommitter.submit(order);
+        try {
+            return pending.get(groupCommitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            pending.cancel(false);
+            throw new TooManyRequestsException("Order could not be written in time, try again later.",
+                    TimeUnit.MILLISECONDS.toSeconds(groupCommitTimeoutMs) + 1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            pending.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for the order to be written.", ex);
+        }
     }
 }
@@ -0,0 +1,125 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.core.document.Event;
+import br.com.microservices.choreography.orderservice.core.document.History;
+import br.com.microservices.choreography.orderservice.core.document.SagaJoin;
+import br.com.microservices.choreography.orderservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.orderservice.core.producer.SagaProducer;
+import br.com.microservices.choreography.orderservice.core.utils.JsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SagaJoinService {
+
+    private static final String PAYMENT_SOURCE = "PAYMENT_SERVICE";
+    private static final String INVENTORY_SOURCE = "INVENTORY_SERVICE";
+
+    private final MongoTemplate mongoTemplate;
+    private final EventService eventService;
+    private final SagaProducer producer;
+    private final JsonUtil jsonUtil;
+
+    @Value("${spring.kafka.topic.payment-fail}")
+    private String paymentFailTopic;
+
+    @Value("${spring.kafka.topic.inventory-fail}")
+    private String inventoryFailTopic;
+
+    @Value("${spring.kafka.topic.product-validation-fail}")
+    private String productValidationFailTopic;
+
+    public void join(Event event) {
+        var branch = findBranch(event.getSource());
+        if (branch == null) {
+            log.warn("Ignoring join event from unknown source {} for transaction {}.",
+                    event.getSource(), event.getTransactionId());
+            return;
+        }
+        var update = new Update()
+                .setOnInsert("orderId", event.getPayload().getId())
+                .setOnInsert("createdAt", LocalDateTime.now())
+                .set(branch.concat("Status"), event.getStatus())
+                .set(branch.concat("Event"), event);
+        var join = mongoTemplate.findAndModify(
+                query(where("id").is(event.getTransactionId())),
+                update,
+                options().upsert(true).returnNew(true),
+                SagaJoin.class);
+        handleJoin(join);
+    }
+
+    private void handleJoin(SagaJoin join) {
+        if (join.getPaymentStatus() == null || join.getInventoryStatus() == null) {
+            log.info("SAGA {} WAITING FOR THE OTHER BRANCH | PAYMENT {} | INVENTORY {}",
+                    join.getId(), join.getPaymentStatus(), join.getInventoryStatus());
+            return;
+        }
+        var paymentSucceeded = ESagaStatus.SUCCESS.equals(join.getPaymentStatus());
+        var inventorySucceeded = ESagaStatus.SUCCESS.equals(join.getInventoryStatus());
+        var event = mergeBranches(join);
+        if (paymentSucceeded && inventorySucceeded) {
+            log.info("SAGA {} JOINED | BOTH BRANCHES SUCCEEDED", join.getId());
+            mongoTemplate.remove(join);
+            eventService.notifyEnding(event);
+        } else if (paymentSucceeded) {
+            log.info("SAGA {} JOINED | INVENTORY FAILED | COMPENSATING PAYMENT", join.getId());
+            producer.sendEvent(jsonUtil.toJson(event), paymentFailTopic);
+        } else if (inventorySucceeded) {
+            log.info("SAGA {} JOINED | PAYMENT FAILED | COMPENSATING INVENTORY", join.getId());
+            producer.sendEvent(jsonUtil.toJson(event), inventoryFailTopic);
+        } else {
+            log.info("SAGA {} JOINED | BOTH BRANCHES ROLLED BACK | ROLLING BACK PRODUCT VALIDATION", join.getId());
+            mongoTemplate.remove(join);
+            producer.sendEvent(jsonUtil.toJson(event), productValidationFailTopic);
+        }
+    }
+
+    private Event mergeBranches(SagaJoin join) {
+        var paymentEvent = join.getPaymentEvent();
+        var inventoryEvent = join.getInventoryEvent();
+        var history = Stream
+                .concat(paymentEvent.getEventHistory().stream(), inventoryEvent.getEventHistory().stream())
+                .distinct()
+                .sorted(Comparator.comparing(History::getCreatedAt))
+                .toList();
+        var bothSucceeded = ESagaStatus.SUCCESS.equals(join.getPaymentStatus())
+                && ESagaStatus.SUCCESS.equals(join.getInventoryStatus());
+        return Event
+                .builder()
+                .id(paymentEvent.getId())
+                .transactionId(paymentEvent.getTransactionId())
+                .orderId(join.getOrderId())
+                .payload(paymentEvent.getPayload())
+                .source(paymentEvent.getSource())
+                .status(bothSucceeded ? ESagaStatus.SUCCESS : ESagaStatus.FAIL)
+                .eventHistory(new ArrayList<>(history))
+                .createdAt(paymentEvent.getCreatedAt())
+                .build();
+    }
+
+    private String findBranch(String source) {
+        if (PAYMENT_SOURCE.equals(source)) {
+            return "payment";
+        }
+        if (INVENTORY_SOURCE.equals(source)) {
+            return "inventory";
+        }
+        return null;
+    }
+}
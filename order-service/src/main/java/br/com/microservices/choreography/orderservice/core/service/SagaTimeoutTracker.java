@@ -0,0 +1,132 @@
+package br.com.microservices.choreography.orderservice.core.service;
+
+import br.com.microservices.choreography.orderservice.core.document.Event;
+import br.com.microservices.choreography.orderservice.core.document.History;
+import br.com.microservices.choreography.orderservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.orderservice.core.utils.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SagaTimeoutTracker {
+
+    private static final String CURRENT_SERVICE = "ORDER_SERVICE";
+    private static final String TIMEOUT_AT = "timeoutAt";
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.saga.timeout.enabled}")
+    private boolean enabled;
+
+    @Value("${app.saga.timeout.timeout-ms}")
+    private long timeoutMs;
+
+    @Value("${app.saga.timeout.tick-ms}")
+    private long tickMs;
+
+    @Value("${app.saga.timeout.wheel-size}")
+    private int wheelSize;
+
+    private HierarchicalTimingWheel<String> wheel;
+    private Counter timedOutSagas;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        timedOutSagas = Counter.builder("saga.timeouts")
+                .description("Sagas marked as TIMED_OUT before reaching notify-ending")
+                .register(meterRegistry);
+        Gauge.builder("saga.in.flight", wheel, HierarchicalTimingWheel::size)
+                .description("Sagas waiting for notify-ending on this instance")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LocalDateTime nextDeadline() {
+        return enabled ? LocalDateTime.now().plus(Duration.ofMillis(timeoutMs)) : null;
+    }
+
+    public void register(Event event) {
+        if (enabled && event.getTimeoutAt() != null) {
+            wheel.schedule(event.getId(), toEpochMilli(event.getTimeoutAt()));
+        }
+    }
+
+    public void complete(Event event) {
+        if (enabled) {
+            wheel.cancel(event.getId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        var query = query(where(TIMEOUT_AT).ne(null));
+        query.fields().include(TIMEOUT_AT);
+        try (var inFlight = mongoTemplate.stream(query, Event.class)) {
+            inFlight.forEach(this::register);
+        }
+        log.info("Tracking {} in-flight sagas restored from the event store.", wheel.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.saga.timeout.tick-ms}")
+    public void expire() {
+        if (!enabled) {
+            return;
+        }
+        wheel.advance(System.currentTimeMillis()).forEach(this::markTimedOut);
+    }
+
+    private void markTimedOut(String eventId) {
+        var history = History
+                .builder()
+                .source(CURRENT_SERVICE)
+                .status(ESagaStatus.TIMED_OUT)
+                .message("Saga timed out before reaching notify-ending!")
+                .createdAt(LocalDateTime.now())
+                .build();
+        var update = new Update()
+                .set("status", ESagaStatus.TIMED_OUT)
+                .unset(TIMEOUT_AT)
+                .push("eventHistory", history);
+        var result = mongoTemplate.updateFirst(
+                query(where("id").is(eventId).and(TIMEOUT_AT).ne(null)), update, Event.class);
+        if (result.getModifiedCount() > 0) {
+            timedOutSagas.increment();
+            log.warn("SAGA TIMED OUT FOR EVENT {}!", eventId);
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
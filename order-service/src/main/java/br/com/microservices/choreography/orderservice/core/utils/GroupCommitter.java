@@ -0,0 +1,117 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+public class GroupCommitter<T> implements AutoCloseable {
+
+    private static final long IDLE_POLL_MS = 100;
+    private static final long CLOSE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private final BlockingQueue<PendingItem<T>> queue = new LinkedBlockingQueue<>();
+    private final Function<List<T>, List<T>> flush;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public GroupCommitter(String name, int maxBatchSize, long maxWaitMs, Function<List<T>, List<T>> flush) {
+        this.flush = flush;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.writer = new Thread(this::run, name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public CompletableFuture<T> submit(T item) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Group committer is closed."));
+        }
+        var pending = new PendingItem<>(item, new CompletableFuture<T>());
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            fail(List.of(pending), new IllegalStateException("Group committer is closed."));
+        }
+        return pending.result();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(CLOSE_TIMEOUT_MS);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join(CLOSE_TIMEOUT_MS);
+        }
+        failQueued(new IllegalStateException("Group committer is closed."));
+    }
+
+    private void run() {
+        var batch = new ArrayList<PendingItem<T>>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                var deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    var next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+                fail(batch, new IllegalStateException("Group committer was interrupted before writing the batch."));
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        failQueued(new IllegalStateException("Group committer stopped before writing the item."));
+    }
+
+    private void write(List<PendingItem<T>> pendingItems) {
+        var batch = pendingItems.stream().filter(pending -> !pending.result().isDone()).toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            var results = flush.apply(batch.stream().map(PendingItem::item).toList());
+            for (var index = 0; index < batch.size(); index++) {
+                batch.get(index).result().complete(results.get(index));
+            }
+            log.debug("Group commit wrote {} items.", batch.size());
+        } catch (RuntimeException ex) {
+            log.error("Error trying to write a group commit of {} items: ", batch.size(), ex);
+            fail(batch, ex);
+        }
+    }
+
+    private void failQueued(RuntimeException ex) {
+        var queued = new ArrayList<PendingItem<T>>();
+        queue.drainTo(queued);
+        fail(queued, ex);
+    }
+
+    private void fail(List<PendingItem<T>> pendingItems, RuntimeException ex) {
+        pendingItems.forEach(pending -> pending.result().completeExceptionally(ex));
+    }
+
+    private record PendingItem<T>(T item, CompletableFuture<T> result) {
+    }
+}
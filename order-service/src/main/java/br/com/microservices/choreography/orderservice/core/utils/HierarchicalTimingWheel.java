@@ -0,0 +1,167 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class HierarchicalTimingWheel<K> {
+
+    private static final int MAX_LEVELS = 10;
+
+    private final long tickMs;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final long startMs;
+    private final List<Slot<K>[]> levels = new ArrayList<>();
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+    private final List<K> overdue = new ArrayList<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two.");
+        }
+        this.tickMs = tickMs;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.wheelMask = wheelSize - 1;
+        this.startMs = startMs;
+        addLevel();
+    }
+
+    public synchronized void schedule(K key, long expirationMs) {
+        cancel(key);
+        var timeout = new Timeout<>(key, Math.max(0, Math.floorDiv(expirationMs - startMs, tickMs)));
+        timeouts.put(key, timeout);
+        place(timeout);
+    }
+
+    public synchronized boolean cancel(K key) {
+        var timeout = timeouts.remove(key);
+        if (timeout == null) {
+            return false;
+        }
+        if (timeout.slot != null) {
+            timeout.slot.remove(timeout);
+        } else {
+            overdue.remove(key);
+        }
+        return true;
+    }
+
+    public synchronized List<K> advance(long nowMs) {
+        var expired = new ArrayList<K>();
+        var targetTick = Math.floorDiv(nowMs - startMs, tickMs);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            levels.get(0)[(int) (currentTick & wheelMask)].drain(timeout -> expire(timeout.key, expired));
+        }
+        overdue.forEach(key -> expire(key, expired));
+        overdue.clear();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    private void cascade() {
+        var highestAligned = 0;
+        while (highestAligned + 1 < levels.size()
+                && (currentTick & ((1L << (wheelBits * (highestAligned + 1))) - 1)) == 0) {
+            highestAligned++;
+        }
+        for (var level = highestAligned; level > 0; level--) {
+            var index = (int) ((currentTick >>> (wheelBits * level)) & wheelMask);
+            levels.get(level)[index].drain(this::place);
+        }
+    }
+
+    private void place(Timeout<K> timeout) {
+        var delta = timeout.tick - currentTick;
+        if (delta <= 0) {
+            timeout.slot = null;
+            overdue.add(timeout.key);
+            return;
+        }
+        var level = 0;
+        while (level + 1 < MAX_LEVELS && delta >= 1L << (wheelBits * (level + 1))) {
+            level++;
+        }
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        var index = (int) ((timeout.tick >>> (wheelBits * level)) & wheelMask);
+        levels.get(level)[index].add(timeout);
+    }
+
+    private void expire(K key, List<K> expired) {
+        timeouts.remove(key);
+        expired.add(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        var slots = (Slot<K>[]) new Slot[wheelMask + 1];
+        for (var index = 0; index < slots.length; index++) {
+            slots[index] = new Slot<>();
+        }
+        levels.add(slots);
+    }
+
+    private static class Timeout<K> {
+        private final K key;
+        private final long tick;
+        private Slot<K> slot;
+        private Timeout<K> previous;
+        private Timeout<K> next;
+
+        private Timeout(K key, long tick) {
+            this.key = key;
+            this.tick = tick;
+        }
+    }
+
+    private static class Slot<K> {
+        private Timeout<K> head;
+
+        private void add(Timeout<K> timeout) {
+            timeout.slot = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<K> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private void drain(Consumer<Timeout<K>> action) {
+            var timeout = head;
+            head = null;
+            while (timeout != null) {
+                var next = timeout.next;
+                timeout.slot = null;
+                timeout.previous = null;
+                timeout.next = null;
+                action.accept(timeout);
+                timeout = next;
+            }
+        }
+    }
+}
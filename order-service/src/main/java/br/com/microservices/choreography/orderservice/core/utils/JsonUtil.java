@@ -1,16 +1,21 @@
 package br.com.microservices.choreography.orderservice.core.utils;
 
 import br.com.microservices.choreography.orderservice.core.document.Event;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
 @AllArgsConstructor
 @Component
 public class JsonUtil {
     private final ObjectMapper objectMapper;
 
-    public String toJson(Event object) {
+    public String toJson(Object object) {
         try {
             return objectMapper.writeValueAsString(object);
         }
@@ -20,11 +25,23 @@ public class JsonUtil {
     }
 
     public Event toEvent(String json) {
+        return fromJson(json, Event.class);
+    }
+
+    public <T> T fromJson(String json, Class<T> type) {
         try {
-            return objectMapper.readValue(json, Event.class);
+            return objectMapper.readValue(json, type);
         }
         catch (Exception ex) {
             return null;
         }
     }
+
+    public <T> void readValues(InputStream json, Class<T> type, Consumer<T> consumer) throws IOException {
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(json)) {
+            while (iterator.hasNextValue()) {
+                consumer.accept(iterator.nextValue());
+            }
+        }
+    }
 }
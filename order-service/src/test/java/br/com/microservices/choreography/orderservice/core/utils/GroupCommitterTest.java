@@ -0,0 +1,166 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final List<List<String>> flushedBatches = new CopyOnWriteArrayList<>();
+    private GroupCommitter<String> groupCommitter;
+
+    @AfterEach
+    void closeGroupCommitter() throws InterruptedException {
+        if (groupCommitter != null) {
+            groupCommitter.close();
+        }
+    }
+
+    @Test
+    void writesItemsSubmittedTogetherInOneBatch() throws Exception {
+        groupCommitter = new GroupCommitter<>("test-group-commit", 3, 1_000, recording(String::toUpperCase));
+
+        var first = groupCommitter.submit("a");
+        var second = groupCommitter.submit("b");
+        var third = groupCommitter.submit("c");
+
+        assertThat(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("A");
+        assertThat(second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("B");
+        assertThat(third.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("C");
+        assertThat(flushedBatches).containsExactly(List.of("a", "b", "c"));
+    }
+
+    @Test
+    void splitsBatchesAtTheMaximumSize() throws Exception {
+        groupCommitter = new GroupCommitter<>("test-group-commit", 2, 1_000, recording(Function.identity()));
+
+        var results = new ArrayList<CompletableFuture<String>>();
+        for (var item : List.of("a", "b", "c", "d", "e")) {
+            results.add(groupCommitter.submit(item));
+        }
+        for (var result : results) {
+            result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        assertThat(flushedBatches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(flushedBatches.stream().flatMap(List::stream)).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void writesALoneItemAfterTheMaximumWait() throws Exception {
+        groupCommitter = new GroupCommitter<>("test-group-commit", 100, 10, recording(Function.identity()));
+
+        assertThat(groupCommitter.submit("a").get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(flushedBatches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    void failsEveryItemOfAFailedBatch() {
+        groupCommitter = new GroupCommitter<>("test-group-commit", 2, 1_000, items -> {
+            throw new IllegalStateException("write failed");
+        });
+
+        var first = groupCommitter.submit("a");
+        var second = groupCommitter.submit("b");
+
+        assertThatThrownBy(() -> first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void skipsItemsCancelledBeforeTheirBatchIsWritten() throws Exception {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        groupCommitter = new GroupCommitter<>("test-group-commit", 1, 0, recording(item -> {
+            if ("blocking".equals(item)) {
+                writing.countDown();
+                await(release);
+            }
+            return item;
+        }));
+
+        var blocking = groupCommitter.submit("blocking");
+        assertThat(writing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        var cancelled = groupCommitter.submit("cancelled");
+        cancelled.cancel(false);
+        var written = groupCommitter.submit("written");
+        release.countDown();
+
+        blocking.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        written.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(flushedBatches.stream().flatMap(List::stream)).containsExactly("blocking", "written");
+    }
+
+    @Test
+    void writesQueuedItemsBeforeClosing() throws Exception {
+        var writing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        groupCommitter = new GroupCommitter<>("test-group-commit", 1, 0, recording(item -> {
+            if ("blocking".equals(item)) {
+                writing.countDown();
+                await(release);
+            }
+            return item;
+        }));
+
+        var blocking = groupCommitter.submit("blocking");
+        assertThat(writing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        var queued = groupCommitter.submit("queued");
+        var closing = new Thread(this::closeQuietly);
+        closing.start();
+        release.countDown();
+        closing.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+
+        assertThat(blocking).isCompletedWithValue("blocking");
+        assertThat(queued).isCompletedWithValue("queued");
+    }
+
+    @Test
+    void failsItemsSubmittedAfterClose() throws Exception {
+        groupCommitter = new GroupCommitter<>("test-group-commit", 10, 10, recording(Function.identity()));
+        groupCommitter.close();
+
+        var rejected = groupCommitter.submit("late");
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(flushedBatches).isEmpty();
+    }
+
+    private Function<List<String>, List<String>> recording(Function<String, String> writer) {
+        return items -> {
+            flushedBatches.add(List.copyOf(items));
+            return items.stream().map(writer).toList();
+        };
+    }
+
+    private void closeQuietly() {
+        try {
+            groupCommitter.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
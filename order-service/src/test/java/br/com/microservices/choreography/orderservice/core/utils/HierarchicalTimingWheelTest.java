@@ -0,0 +1,113 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 4;
+
+    @Test
+    void expiresTimeoutOnItsTick() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("saga", 25);
+
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactly("saga");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesTimeoutsFromHigherLevels() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("far", 100 * TICK_MS);
+
+        for (var nowMs = TICK_MS; nowMs < 100 * TICK_MS; nowMs += TICK_MS) {
+            assertThat(wheel.advance(nowMs)).as("expired at %d ms", nowMs).isEmpty();
+        }
+        assertThat(wheel.advance(100 * TICK_MS)).containsExactly("far");
+    }
+
+    @Test
+    void expiresEveryTimeoutOnItsOwnTickAcrossLevels() {
+        var wheel = new HierarchicalTimingWheel<Integer>(TICK_MS, WHEEL_SIZE, 0);
+        var random = new Random(42);
+        var expectedTicks = new HashMap<Integer, Long>();
+        for (var key = 0; key < 500; key++) {
+            var tick = 1 + (long) random.nextInt(2_000);
+            expectedTicks.put(key, tick);
+            wheel.schedule(key, tick * TICK_MS);
+        }
+
+        var actualTicks = new HashMap<Integer, Long>();
+        for (var tick = 1L; tick <= 2_000; tick++) {
+            for (var key : wheel.advance(tick * TICK_MS)) {
+                actualTicks.put(key, tick);
+            }
+        }
+
+        assertThat(actualTicks).isEqualTo(expectedTicks);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiresPendingTimeoutsWhenAdvancingPastSeveralTicksAtOnce() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("near", 3 * TICK_MS);
+        wheel.schedule("middle", 40 * TICK_MS);
+        wheel.schedule("far", 300 * TICK_MS);
+
+        assertThat(wheel.advance(50 * TICK_MS)).containsExactlyInAnyOrder("near", "middle");
+        assertThat(wheel.advance(300 * TICK_MS)).containsExactly("far");
+    }
+
+    @Test
+    void expiresOverdueTimeoutOnNextAdvance() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.advance(100);
+        wheel.schedule("late", 50);
+
+        assertThat(wheel.advance(100)).containsExactly("late");
+    }
+
+    @Test
+    void cancelAndRescheduleReplaceThePreviousTimeout() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, 0);
+        wheel.schedule("cancelled", 50);
+        wheel.schedule("moved", 50);
+        wheel.schedule("moved", 500);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.advance(490)).isEmpty();
+        assertThat(wheel.advance(500)).containsExactly("moved");
+    }
+
+    @Test
+    void keepsTimeoutsScheduledRelativeToTheStartTime() {
+        var startMs = 1_700_000_000_000L;
+        var wheel = new HierarchicalTimingWheel<String>(TICK_MS, WHEEL_SIZE, startMs);
+        wheel.schedule("saga", startMs + 1_000);
+
+        var expired = new ArrayList<String>();
+        for (var nowMs = startMs; nowMs < startMs + 1_000; nowMs += TICK_MS) {
+            expired.addAll(wheel.advance(nowMs));
+        }
+        assertThat(expired).isEmpty();
+        assertThat(wheel.advance(startMs + 1_000)).isEqualTo(List.of("saga"));
+    }
+
+    @Test
+    void rejectsWheelSizeThatIsNotAPowerOfTwo() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(TICK_MS, 10, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
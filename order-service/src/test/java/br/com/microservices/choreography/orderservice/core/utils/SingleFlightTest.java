@@ -0,0 +1,115 @@
+package br.com.microservices.choreography.orderservice.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("order", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "loaded";
+        }));
+        assertThat(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        var follower = startThread(() -> singleFlight.execute("order", () -> {
+            loads.incrementAndGet();
+            return "loaded again";
+        }));
+        awaitWaiting(follower.thread());
+        release.countDown();
+
+        assertThat(leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(follower.result().get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failureReachesJoinedCallersAndReleasesTheKey() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.runAsync(() -> singleFlight.execute("order", () -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("lookup failed");
+        }));
+        assertThat(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        var follower = startThread(() -> singleFlight.execute("order", () -> "not called"));
+        awaitWaiting(follower.thread());
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.result().get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("lookup failed");
+        assertThat(singleFlight.execute("order", () -> "retried")).isEqualTo("retried");
+    }
+
+    @Test
+    void doesNotCacheCompletedCalls() {
+        var loads = new AtomicInteger();
+
+        singleFlight.execute("order", () -> "first " + loads.incrementAndGet());
+        var second = singleFlight.execute("order", () -> "second " + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("second 2");
+    }
+
+    @Test
+    void loadsDifferentKeysIndependently() {
+        assertThat(singleFlight.execute("first", () -> "1")).isEqualTo("1");
+        assertThat(singleFlight.execute("second", () -> "2")).isEqualTo("2");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static Call startThread(Supplier<String> call) {
+        var result = new CompletableFuture<String>();
+        var thread = new Thread(() -> {
+            try {
+                result.complete(call.get());
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        thread.start();
+        return new Call(thread, result);
+    }
+
+    private record Call(Thread thread, CompletableFuture<String> result) {
+    }
+}
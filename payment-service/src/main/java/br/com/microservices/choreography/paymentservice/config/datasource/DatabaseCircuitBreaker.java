@@ -0,0 +1,200 @@
+package br.com.microservices.choreography.paymentservice.config.datasource;
+
+import br.com.microservices.choreography.paymentservice.config.exception.DatabaseUnavailableException;
+import br.com.microservices.choreography.paymentservice.config.kafka.ContainerPauseRegistry;
+import br.com.microservices.choreography.paymentservice.core.enums.ECircuitState;
+import br.com.microservices.choreography.paymentservice.core.enums.EPauseReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabaseCircuitBreaker {
+
+    private static final int PROBE_TIMEOUT_SECONDS = 2;
+    private static final List<String> UNAVAILABLE_SQL_STATES = List.of("08", "53", "57P");
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final ContainerPauseRegistry pauseRegistry;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final AtomicReference<ECircuitState> state = new AtomicReference<>(ECircuitState.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+    @Value("${app.db-circuit-breaker.enabled}")
+    private boolean enabled;
+
+    @Value("${app.db-circuit-breaker.failure-threshold}")
+    private int failureThreshold;
+
+    @Value("${app.db-circuit-breaker.open-duration-ms}")
+    private long openDurationMs;
+
+    @Value("${app.db-circuit-breaker.probe-interval-ms}")
+    private long probeIntervalMs;
+
+    @Value("${app.db-circuit-breaker.half-open-successes}")
+    private int halfOpenSuccessesToClose;
+
+    private volatile long openedAt;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("db.circuit.state", state, current -> current.get().ordinal())
+                .description("Database circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+    }
+
+    public void execute(Runnable action) {
+        if (!enabled) {
+            action.run();
+            return;
+        }
+        if (ECircuitState.OPEN.equals(state.get())) {
+            throw new DatabaseUnavailableException("Database circuit is open.");
+        }
+        try {
+            action.run();
+        } catch (RuntimeException ex) {
+            if (isDatabaseFailure(ex)) {
+                recordFailure(ex);
+                throw ex instanceof DatabaseUnavailableException ? ex : new DatabaseUnavailableException(ex);
+            }
+            throw ex;
+        }
+        recordSuccess();
+    }
+
+    public void retryWhileUnavailable(Runnable action) throws InterruptedException {
+        while (true) {
+            try {
+                action.run();
+                return;
+            } catch (DatabaseUnavailableException ex) {
+                Thread.sleep(probeIntervalMs);
+            }
+        }
+    }
+
+    public void rethrowIfUnavailable(Exception ex) {
+        if (enabled && isDatabaseFailure(ex)) {
+            throw ex instanceof DatabaseUnavailableException unavailable
+                    ? unavailable : new DatabaseUnavailableException(ex);
+        }
+    }
+
+    public static boolean isDatabaseFailure(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseUnavailableException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && UNAVAILABLE_SQL_STATES.stream().anyMatch(sqlException.getSQLState()::startsWith)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.db-circuit-breaker.probe-interval-ms}")
+    public void probe() {
+        if (!enabled || !ECircuitState.OPEN.equals(state.get())
+                || System.currentTimeMillis() - openedAt < openDurationMs) {
+            return;
+        }
+        if (!isDatabaseReachable()) {
+            log.warn("Database is still unavailable, keeping saga listeners paused.");
+            openedAt = System.currentTimeMillis();
+            return;
+        }
+        halfOpenSuccesses.set(0);
+        transitionTo(ECircuitState.HALF_OPEN);
+        log.info("Database answered the probe, resuming saga listeners in half-open state.");
+        registry.getListenerContainers()
+                .forEach(container -> pauseRegistry.resume(container, EPauseReason.DATABASE_UNAVAILABLE));
+    }
+
+    private void recordFailure(Exception ex) {
+        var current = state.get();
+        if (ECircuitState.HALF_OPEN.equals(current) && state.compareAndSet(current, ECircuitState.OPEN)) {
+            open(ex);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && state.compareAndSet(ECircuitState.CLOSED, ECircuitState.OPEN)) {
+            open(ex);
+        }
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+        if (ECircuitState.HALF_OPEN.equals(state.get())
+                && halfOpenSuccesses.incrementAndGet() >= halfOpenSuccessesToClose
+                && state.compareAndSet(ECircuitState.HALF_OPEN, ECircuitState.CLOSED)) {
+            countTransition(ECircuitState.CLOSED);
+            log.info("Database circuit closed after {} successful events.", halfOpenSuccessesToClose);
+        }
+    }
+
+    private void open(Exception ex) {
+        openedAt = System.currentTimeMillis();
+        countTransition(ECircuitState.OPEN);
+        log.warn("Database circuit opened, pausing saga listeners: {}", ex.getMessage());
+        registry.getListenerContainers()
+                .forEach(container -> pauseRegistry.pause(container, EPauseReason.DATABASE_UNAVAILABLE));
+    }
+
+    private void transitionTo(ECircuitState newState) {
+        state.set(newState);
+        countTransition(newState);
+    }
+
+    private void countTransition(ECircuitState newState) {
+        Counter.builder("db.circuit.transitions")
+                .description("Database circuit breaker state changes")
+                .tag("state", newState.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean isDatabaseReachable() {
+        try (var connection = dataSource.getConnection()) {
+            return connection.isValid(PROBE_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+}
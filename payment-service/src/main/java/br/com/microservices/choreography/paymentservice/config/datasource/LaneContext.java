@@ -0,0 +1,23 @@
+package br.com.microservices.choreography.paymentservice.config.datasource;
+
+import br.com.microservices.choreography.paymentservice.core.enums.ELane;
+
+public final class LaneContext {
+
+    private static final ThreadLocal<ELane> CURRENT_LANE = ThreadLocal.withInitial(() -> ELane.FORWARD);
+
+    private LaneContext() {
+    }
+
+    public static ELane get() {
+        return CURRENT_LANE.get();
+    }
+
+    public static void set(ELane lane) {
+        CURRENT_LANE.set(lane);
+    }
+
+    public static void clear() {
+        CURRENT_LANE.remove();
+    }
+}
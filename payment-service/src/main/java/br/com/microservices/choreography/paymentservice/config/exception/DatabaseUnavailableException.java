@@ -0,0 +1,13 @@
+package br.com.microservices.choreography.paymentservice.config.exception;
+
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+
+    public DatabaseUnavailableException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+
+}
@@ -0,0 +1,34 @@
+package br.com.microservices.choreography.paymentservice.config.kafka;
+
+import br.com.microservices.choreography.paymentservice.core.enums.EPauseReason;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class ContainerPauseRegistry {
+
+    private final Map<String, Set<EPauseReason>> pauseReasons = new HashMap<>();
+
+    public synchronized void pause(MessageListenerContainer container, EPauseReason reason) {
+        pauseReasons
+                .computeIfAbsent(container.getListenerId(), listenerId -> EnumSet.noneOf(EPauseReason.class))
+                .add(reason);
+        container.pause();
+    }
+
+    public synchronized void resume(MessageListenerContainer container, EPauseReason reason) {
+        var reasons = pauseReasons.get(container.getListenerId());
+        if (reasons == null || !reasons.remove(reason) || !reasons.isEmpty()) {
+            return;
+        }
+        pauseReasons.remove(container.getListenerId());
+        if (container.isRunning()) {
+            container.resume();
+        }
+    }
+}
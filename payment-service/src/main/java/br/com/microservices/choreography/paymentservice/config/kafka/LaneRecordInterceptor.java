@@ -0,0 +1,26 @@
+package br.com.microservices.choreography.paymentservice.config.kafka;
+
+import br.com.microservices.choreography.paymentservice.config.datasource.LaneContext;
+import br.com.microservices.choreography.paymentservice.core.enums.ELane;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+@RequiredArgsConstructor
+public class LaneRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    private final ELane lane;
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record,
+                                                    Consumer<Object, Object> consumer) {
+        LaneContext.set(lane);
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        LaneContext.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.microservices.choreography.paymentservice.config.kafka;
+
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+final class ListenerLag {
+
+    private static final String RECORDS_LAG_MAX = "records-lag-max";
+
+    private ListenerLag() {
+    }
+
+    static double max(MessageListenerContainer container) {
+        return container.metrics()
+                .values()
+                .stream()
+                .flatMap(metrics -> metrics.entrySet().stream())
+                .filter(metric -> RECORDS_LAG_MAX.equals(metric.getKey().name())
+                        && !metric.getKey().tags().containsKey("topic"))
+                .map(metric -> metric.getValue().metricValue())
+                .filter(Number.class::isInstance)
+                .mapToDouble(value -> ((Number) value).doubleValue())
+                .filter(value -> !Double.isNaN(value))
+                .max()
+                .orElse(0);
+    }
+}
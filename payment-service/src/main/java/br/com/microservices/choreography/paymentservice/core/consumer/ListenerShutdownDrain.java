@@ -0,0 +1,64 @@
+package br.com.microservices.choreography.paymentservice.core.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListenerShutdownDrain implements SmartLifecycle {
+
+    private static final long PAUSE_CHECK_INTERVAL_MS = 50;
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final OrderedEventDispatcher dispatcher;
+
+    @Value("${app.kafka.consumer.shutdown-timeout-ms}")
+    private long shutdownTimeoutMs;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        var deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        var containers = registry.getListenerContainers();
+        containers.forEach(MessageListenerContainer::pause);
+        try {
+            while (!containers.stream().allMatch(this::isPausedOrStopped) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(PAUSE_CHECK_INTERVAL_MS);
+            }
+            if (!dispatcher.awaitIdle(Math.max(0, deadline - System.currentTimeMillis()))) {
+                log.warn("Saga events still in flight after {} ms, their offsets will be replayed.", shutdownTimeoutMs);
+                return;
+            }
+            log.info("Saga listeners drained, committing offsets before the partitions are revoked.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+
+    private boolean isPausedOrStopped(MessageListenerContainer container) {
+        return !container.isRunning() || container.isContainerPaused();
+    }
+}
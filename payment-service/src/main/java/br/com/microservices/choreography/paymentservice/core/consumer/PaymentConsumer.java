@@ -1,10 +1,20 @@
 package br.com.microservices.choreography.paymentservice.core.consumer;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.paymentservice.config.datasource.DatabaseCircuitBreaker;
+import br.com.microservices.choreography.paymentservice.core.dto.Event;
+import br.com.microservices.choreography.paymentservice.core.saga.SagaExecutionController;
 import br.com.microservices.choreography.paymentservice.core.service.PaymentService;
+import br.com.microservices.choreography.paymentservice.core.service.ProcessedEventService;
 import br.com.microservices.choreography.paymentservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -13,24 +23,47 @@ import org.springframework.stereotype.Component;
 public class PaymentConsumer {
     private final PaymentService paymentService;
     private JsonUtil jsonUtil;
+    private ProcessedEventService processedEventService;
+    private OrderedEventDispatcher dispatcher;
+    private DatabaseCircuitBreaker databaseCircuitBreaker;
+    private SagaExecutionController sagaExecutionController;
+    private DedupeCache dedupeCache;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-success}"
+            topics = "${spring.kafka.topic.payment-success}",
+            containerGroup = "forwardLane"
     )
-    public void consumeSuccessEvent(String payload) {
-        log.info("Receiving success event {} from payment-success topic", payload);
-        var event = jsonUtil.toEvent(payload);
-        paymentService.realizeAndPersistPayment(event);
+    public void consumeSuccessEvent(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        log.info("Receiving success event {} from payment-success topic", record.value());
+        var event = jsonUtil.toEvent(record.value());
+        var topicPartition = new TopicPartition(record.topic(), record.partition());
+        dispatcher.dispatch(record, event, received -> dedupeCache.runForRecord(topicPartition, record.timestamp(),
+                () -> handleSuccessEvent(record.topic(), received)), acknowledgment);
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
-            topics = "${spring.kafka.topic.payment-fail}"
+            topics = "${spring.kafka.topic.payment-fail}",
+            containerFactory = "compensationListenerContainerFactory",
+            containerGroup = "compensationLane"
     )
-    public void consumeFailEvent(String payload) {
+    public void consumeFailEvent(String payload,
+                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                 Acknowledgment acknowledgment) {
         log.info("Receiving rollback event {} from payment-fail topic", payload);
         var event = jsonUtil.toEvent(payload);
-        paymentService.realizeRefund(event);
+        databaseCircuitBreaker.execute(
+                () -> processedEventService.process(topic, event, paymentService::realizeRefund));
+        acknowledgment.acknowledge();
+    }
+
+    private void handleSuccessEvent(String topic, Event event) {
+        if (sagaExecutionController.isExpired(event)) {
+            paymentService.failExpiredSaga(event);
+            return;
+        }
+        databaseCircuitBreaker.execute(
+                () -> processedEventService.process(topic, event, paymentService::realizeAndPersistPayment));
     }
 }
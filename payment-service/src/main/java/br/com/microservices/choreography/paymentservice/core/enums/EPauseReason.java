@@ -0,0 +1,7 @@
+package br.com.microservices.choreography.paymentservice.core.enums;
+
+public enum EPauseReason {
+    DATABASE_UNAVAILABLE,
+    LANE_PRIORITY,
+    RESCALE
+}
@@ -0,0 +1,6 @@
+package br.com.microservices.choreography.paymentservice.core.enums;
+
+public enum ESagaTopology {
+    SEQUENTIAL,
+    PARALLEL
+}
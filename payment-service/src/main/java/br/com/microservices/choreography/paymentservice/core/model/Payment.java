@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "payment")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -47,7 +48,9 @@ public class Payment {
         var now = LocalDateTime.now();
         createdAt = now;
         updatedAt = now;
-        status = EPaymentStatus.PENDING;
+        if (status == null) {
+            status = EPaymentStatus.PENDING;
+        }
     }
 
     @PreUpdate
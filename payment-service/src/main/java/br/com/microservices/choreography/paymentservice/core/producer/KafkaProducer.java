@@ -1,5 +1,6 @@
 package br.com.microservices.choreography.paymentservice.core.producer;
 
+import br.com.microservices.choreography.paymentservice.core.service.ProcessedEventService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -11,11 +12,13 @@ import org.springframework.stereotype.Component;
 public class KafkaProducer {
 
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ProcessedEventService processedEventService;
 
     public void sendEvent(String payload, String topic) {
         try {
             log.info("Sending event to topic {} with data {}", topic, payload);
             kafkaTemplate.send(topic, payload);
+            processedEventService.recordSend(topic, payload);
         }
         catch (Exception ex) {
             log.error("Error trying to send data to topic {} with data {}.", topic, payload, ex);
@@ -1,11 +1,19 @@
 package br.com.microservices.choreography.paymentservice.core.repository;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeKeySource;
 import br.com.microservices.choreography.paymentservice.core.model.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+public interface PaymentRepository extends JpaRepository<Payment, Integer>, DedupeKeySource {
     Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
     Optional<Payment> findByOrderIdAndTransactionId(String orderId, String transactionId);
+
+    @Query("select concat(p.orderId, '_', p.transactionId) from Payment p where p.createdAt >= :createdAt")
+    List<String> findDedupeKeysCreatedSince(@Param("createdAt") LocalDateTime createdAt);
 }
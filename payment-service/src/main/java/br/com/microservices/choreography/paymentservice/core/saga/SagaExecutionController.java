@@ -1,12 +1,20 @@
 package br.com.microservices.choreography.paymentservice.core.saga;
 
 import br.com.microservices.choreography.paymentservice.core.dto.Event;
+import br.com.microservices.choreography.paymentservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.paymentservice.core.enums.ESagaTopology;
 import br.com.microservices.choreography.paymentservice.core.producer.KafkaProducer;
 import br.com.microservices.choreography.paymentservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
 import static java.lang.String.format;
 
 
@@ -18,6 +26,7 @@ public class SagaExecutionController {
 
     private final JsonUtil jsonUtil;
     private final KafkaProducer producer;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.kafka.topic.inventory-success}")
     private String inventorySuccessTopic;
@@ -28,6 +37,37 @@ public class SagaExecutionController {
     @Value("${spring.kafka.topic.product-validation-fail}")
     private String productValidationFailTopic;
 
+    @Value("${spring.kafka.topic.saga-join}")
+    private String sagaJoinTopic;
+
+    @Value("${app.saga.topology}")
+    private ESagaTopology topology;
+
+    @Value("${app.saga.local-rollback.enabled}")
+    private boolean localRollbackEnabled;
+
+    public boolean isExpired(Event event) {
+        if (event.getDeadline() == null || LocalDateTime.now().isBefore(event.getDeadline())) {
+            return false;
+        }
+        log.info("### CURRENT SAGA: DEADLINE {} EXPIRED | FAILING FAST | {}", event.getDeadline(), createSagaId(event));
+        Counter.builder("saga.deadline.expired")
+                .description("Saga events failed fast because their deadline had passed")
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+
+    public void handleSaga(Event event, Consumer<Event> localRollback) {
+        if (localRollbackEnabled && ESagaStatus.ROLLBACK_PENDING.equals(event.getStatus())) {
+            log.info("### CURRENT SAGA: {} | ROLLING BACK CURRENT SERVICE IN PROCESS | SKIPPING TOPIC {} | {}",
+                    event.getSource(), paymentFailTopic, createSagaId(event));
+            localRollback.accept(event);
+            return;
+        }
+        handleSaga(event);
+    }
+
     public void handleSaga(Event event) {
 
         switch (event.getStatus()) {
@@ -38,9 +78,10 @@ public class SagaExecutionController {
     }
 
     private void handleSuccess(Event event) {
+        var nextTopic = isParallel() ? sagaJoinTopic : inventorySuccessTopic;
         log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}",
-                event.getSource(), inventorySuccessTopic, createSagaId(event));
-        sendEvent(event, inventorySuccessTopic);
+                event.getSource(), nextTopic, createSagaId(event));
+        sendEvent(event, nextTopic);
     }
 
     private void handleRollbackPending(Event event) {
@@ -50,9 +91,14 @@ public class SagaExecutionController {
     }
 
     private void handleFail(Event event) {
+        var nextTopic = isParallel() ? sagaJoinTopic : productValidationFailTopic;
         log.info("### CURRENT SAGA: {} | SENDING TO ROLLBACK PREVIOUS SERVICE | NEXT TOPIC {} | {}",
-                event.getSource(), productValidationFailTopic, createSagaId(event));
-        sendEvent(event, productValidationFailTopic);
+                event.getSource(), nextTopic, createSagaId(event));
+        sendEvent(event, nextTopic);
+    }
+
+    private boolean isParallel() {
+        return ESagaTopology.PARALLEL.equals(topology);
     }
 
     private void sendEvent(Event event, String topic) {
@@ -1,5 +1,7 @@
 package br.com.microservices.choreography.paymentservice.core.service;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.paymentservice.config.datasource.DatabaseCircuitBreaker;
 import br.com.microservices.choreography.paymentservice.config.exception.ValidationException;
 import br.com.microservices.choreography.paymentservice.core.enums.EPaymentStatus;
 import br.com.microservices.choreography.paymentservice.core.enums.ESagaStatus;
@@ -19,28 +21,29 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class PaymentService {
     private static final String CURRENT_SOURCE = "PAYMENT_SERVICE";
-    private static final Double REDUCE_SUM_VALUE = 0.0;
     private final static double MIN_AMOUNT_VALUE = 0.1;
 
     private final PaymentRepository paymentRepository;
     private final SagaExecutionController sagaExecutionController;
+    private final ProcessedEventService processedEventService;
+    private final DedupeCache dedupeCache;
+    private final DatabaseCircuitBreaker databaseCircuitBreaker;
 
     public void realizeAndPersistPayment(Event event) {
         try{
             checkForExistingPayment(event);
-            createPaymentRecordAndUpdateEvent(event);
-            var payment = findPaymentByOrderIdAndTransactionId(event);
+            var payment = createPaymentRecordAndUpdateEvent(event);
             validateAmount(payment.getTotalAmount());
-            changePaymentToSuccess(payment);
             handleSuccess(event);
         } catch (Exception ex) {
+            databaseCircuitBreaker.rethrowIfUnavailable(ex);
             log.error("Error trying to validate product: ", ex);
             handlePaymentFailure(event, ex.getMessage());
         }
-        sagaExecutionController.handleSaga(event);
+        sagaExecutionController.handleSaga(event, this::realizeRefund);
     }
 
-    private void createPaymentRecordAndUpdateEvent(Event event) {
+    private Payment createPaymentRecordAndUpdateEvent(Event event) {
         var totalItems = calculateTotalItems(event);
         var totalAmount = calculateTotalAmount(event);
 
@@ -50,31 +53,37 @@ public class PaymentService {
                 .transactionId(event.getTransactionId())
                 .totalItems(totalItems)
                 .totalAmount(totalAmount)
+                .status(totalAmount < MIN_AMOUNT_VALUE ? EPaymentStatus.PENDING : EPaymentStatus.SUCCESS)
                 .build();
         save(payment);
         setEventAmountItems(event, payment);
+        return payment;
     }
 
     private int calculateTotalItems(Event event) {
-        return event.getPayload().getProducts()
-                .stream()
-                .map(orderProduct -> orderProduct.getQuantity())
-                .reduce(REDUCE_SUM_VALUE.intValue(), Integer::sum);
+        var totalItems = 0;
+        for (var orderProduct : event.getPayload().getProducts()) {
+            totalItems += orderProduct.getQuantity();
+        }
+        return totalItems;
     }
 
     private double calculateTotalAmount(Event event) {
-        return event.getPayload().getProducts()
-                .stream()
-                .map(orderProduct -> orderProduct.getQuantity() * orderProduct.getProduct().getUnitValue())
-                .reduce(REDUCE_SUM_VALUE, Double::sum);
+        var totalAmount = 0.0;
+        for (var orderProduct : event.getPayload().getProducts()) {
+            totalAmount += orderProduct.getQuantity() * orderProduct.getProduct().getUnitValue();
+        }
+        return totalAmount;
     }
 
-
     private void checkForExistingPayment(Event event) {
-        if (paymentRepository.existsByOrderIdAndTransactionId(
-                event.getPayload().getId(),
-                event.getTransactionId()
-        )) {
+        if (processedEventService.isEnabled()) {
+            return;
+        }
+        var orderId = event.getPayload().getId();
+        var transactionId = event.getTransactionId();
+        if (dedupeCache.exists(orderId, transactionId,
+                () -> paymentRepository.existsByOrderIdAndTransactionId(orderId, transactionId))) {
             throw new ValidationException("There's another transactionId for this payment.");
         }
     }
@@ -95,17 +104,19 @@ public class PaymentService {
         }
     }
 
-    private void changePaymentToSuccess(Payment payment) {
-        payment.setStatus(EPaymentStatus.SUCCESS);
-        save(payment);
-    }
-
     private void handleSuccess(Event event) {
         event.setStatus(ESagaStatus.SUCCESS);
         event.setSource(CURRENT_SOURCE);
         addHistory(event, "Payment realized successfully!");
     }
 
+    public void failExpiredSaga(Event event) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        addHistory(event, "Saga deadline expired, payment was not realized.");
+        sagaExecutionController.handleSaga(event);
+    }
+
     private void addHistory(Event event, String message) {
         var history = History
                 .builder()
@@ -131,6 +142,7 @@ public class PaymentService {
             changePaymentStatusToRefund(event);
             addHistory(event, "Rollback executed on payment.");
         } catch(Exception ex) {
+            databaseCircuitBreaker.rethrowIfUnavailable(ex);
             addHistory(event, "Rollback not executed for payment: ".concat(ex.getMessage()));
         }
         sagaExecutionController.handleSaga(event);
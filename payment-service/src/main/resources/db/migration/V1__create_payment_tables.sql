@@ -0,0 +1,14 @@
+CREATE SEQUENCE payment_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE payment (
+    id             INTEGER          NOT NULL PRIMARY KEY,
+    order_id       VARCHAR(255)     NOT NULL,
+    transaction_id VARCHAR(255)     NOT NULL,
+    total_items    INTEGER          NOT NULL,
+    total_amount   DOUBLE PRECISION NOT NULL,
+    status         VARCHAR(255)     NOT NULL,
+    created_at     TIMESTAMP(6)     NOT NULL,
+    updated_at     TIMESTAMP(6)     NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_payment_order_id_transaction_id ON payment (order_id, transaction_id);
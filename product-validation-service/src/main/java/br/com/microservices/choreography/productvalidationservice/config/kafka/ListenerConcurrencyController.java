@@ -0,0 +1,185 @@
+package br.com.microservices.choreography.productvalidationservice.config.kafka;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ListenerConcurrencyController {
+
+    private static final String LISTENER_TIMER = "spring.kafka.listener";
+    private static final String RECORD_TIMER = "listener.record.latency";
+    private static final String RECORDS_LAG_MAX = "records-lag-max";
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LatencySample> latencySamples = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAdjustments = new ConcurrentHashMap<>();
+
+    @Value("${app.kafka.adaptive-concurrency.enabled}")
+    private boolean enabled;
+
+    @Value("${app.kafka.adaptive-concurrency.min}")
+    private int minConcurrency;
+
+    @Value("${app.kafka.adaptive-concurrency.max}")
+    private int maxConcurrency;
+
+    @Value("${app.kafka.adaptive-concurrency.lag-threshold}")
+    private double lagThreshold;
+
+    @Value("${app.kafka.adaptive-concurrency.latency-target-ms}")
+    private double latencyTargetMs;
+
+    @Value("${app.kafka.adaptive-concurrency.decrease-factor}")
+    private double decreaseFactor;
+
+    @Value("${app.kafka.adaptive-concurrency.cooldown-ms}")
+    private long cooldownMs;
+
+    @Scheduled(fixedDelayString = "${app.kafka.adaptive-concurrency.sample-interval-ms}",
+            initialDelayString = "${app.kafka.adaptive-concurrency.sample-interval-ms}")
+    public void adjust() {
+        if (!enabled) {
+            return;
+        }
+        var poolSize = getPoolSize();
+        registry.getListenerContainers()
+                .stream()
+                .filter(MessageListenerContainer::isRunning)
+                .filter(ConcurrentMessageListenerContainer.class::isInstance)
+                .map(container -> (ConcurrentMessageListenerContainer<?, ?>) container)
+                .forEach(container -> adjust(container, poolSize));
+    }
+
+    private void adjust(ConcurrentMessageListenerContainer<?, ?> container, int poolSize) {
+        var listenerId = container.getListenerId();
+        registerGauge(container);
+        var lag = getMaxLag(container);
+        var latencyMs = getLatencyMs(container);
+        if (System.currentTimeMillis() - lastAdjustments.getOrDefault(listenerId, 0L) < cooldownMs) {
+            return;
+        }
+        var current = container.getConcurrency();
+        var assignedPartitions = container.getAssignedPartitions() == null
+                ? 0 : container.getAssignedPartitions().size();
+        var ceiling = Math.max(minConcurrency, Math.min(maxConcurrency,
+                Math.min(assignedPartitions, poolSize - getOtherConcurrency(listenerId))));
+        int target;
+        if (latencyMs > latencyTargetMs || lag < lagThreshold) {
+            target = Math.max(minConcurrency, (int) Math.floor(current * decreaseFactor));
+        } else {
+            target = Math.min(ceiling, current + 1);
+        }
+        if (target == current) {
+            return;
+        }
+        log.info("Scaling listener {} from {} to {} consumers | LAG {} | LATENCY {} ms | CEILING {}",
+                listenerId, current, target, lag, latencyMs, ceiling);
+        container.stop();
+        container.setConcurrency(target);
+        container.start();
+        lastAdjustments.put(listenerId, System.currentTimeMillis());
+        Counter.builder("listener.concurrency.adjustments")
+                .description("Adaptive concurrency scaling decisions")
+                .tag("listener", listenerId)
+                .tag("direction", target > current ? "up" : "down")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void registerGauge(ConcurrentMessageListenerContainer<?, ?> container) {
+        Gauge.builder("listener.concurrency", container, ConcurrentMessageListenerContainer::getConcurrency)
+                .description("Current consumer count of the listener container")
+                .tag("listener", container.getListenerId())
+                .register(meterRegistry);
+    }
+
+    private double getMaxLag(MessageListenerContainer container) {
+        return container.metrics()
+                .values()
+                .stream()
+                .flatMap(metrics -> metrics.entrySet().stream())
+                .filter(metric -> RECORDS_LAG_MAX.equals(metric.getKey().name())
+                        && !metric.getKey().tags().containsKey("topic"))
+                .map(metric -> metric.getValue().metricValue())
+                .filter(Number.class::isInstance)
+                .mapToDouble(value -> ((Number) value).doubleValue())
+                .filter(value -> !Double.isNaN(value))
+                .max()
+                .orElse(0);
+    }
+
+    private double getLatencyMs(ConcurrentMessageListenerContainer<?, ?> container) {
+        var listenerId = container.getListenerId();
+        var timers = getRecordTimers(container);
+        if (timers.isEmpty()) {
+            timers = meterRegistry.find(LISTENER_TIMER).timers()
+                    .stream()
+                    .filter(timer -> timer.getId().getTag("name") != null
+                            && timer.getId().getTag("name").startsWith(listenerId + "-"))
+                    .toList();
+        }
+        var count = timers.stream().mapToLong(Timer::count).sum();
+        var totalMs = timers.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+        var previous = latencySamples.put(listenerId, new LatencySample(count, totalMs));
+        if (previous == null || count <= previous.count()) {
+            return 0;
+        }
+        return (totalMs - previous.totalMs()) / (count - previous.count());
+    }
+
+    private List<Timer> getRecordTimers(ConcurrentMessageListenerContainer<?, ?> container) {
+        var topics = container.getContainerProperties().getTopics();
+        if (topics == null) {
+            return List.of();
+        }
+        var topicNames = Set.of(topics);
+        return meterRegistry.find(RECORD_TIMER).timers()
+                .stream()
+                .filter(timer -> topicNames.contains(timer.getId().getTag("topic")))
+                .toList();
+    }
+
+    private int getOtherConcurrency(String listenerId) {
+        return registry.getListenerContainers()
+                .stream()
+                .filter(container -> container instanceof ConcurrentMessageListenerContainer<?, ?>
+                        && container.isRunning()
+                        && !listenerId.equals(container.getListenerId()))
+                .mapToInt(container -> ((ConcurrentMessageListenerContainer<?, ?>) container).getConcurrency())
+                .sum();
+    }
+
+    private int getPoolSize() {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException ex) {
+            return maxConcurrency;
+        }
+    }
+
+    private record LatencySample(long count, double totalMs) {
+    }
+}
@@ -1,10 +1,17 @@
 package br.com.microservices.choreography.productvalidationservice.core.consumer;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
+import br.com.microservices.choreography.productvalidationservice.core.saga.SagaExecutionController;
+import br.com.microservices.choreography.productvalidationservice.core.service.ProcessedEventService;
 import br.com.microservices.choreography.productvalidationservice.core.service.ProductValidationService;
 import br.com.microservices.choreography.productvalidationservice.core.utils.JsonUtil;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -13,24 +20,41 @@ import org.springframework.stereotype.Component;
 public class ProductValidationConsumer {
     private final ProductValidationService productValidationService;
     private JsonUtil jsonUtil;
+    private ProcessedEventService processedEventService;
+    private SagaExecutionController sagaExecutionController;
+    private DedupeCache dedupeCache;
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-start}"
     )
-    public void consumeSuccessEvent(String payload) {
+    public void consumeSuccessEvent(String payload,
+                                    @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                    @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
+                                    @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp,
+                                    Acknowledgment acknowledgment) {
         log.info("Receiving success event {} from product-validation-start topic", payload);
         var event = jsonUtil.toEvent(payload);
-        productValidationService.handleEventAndPersistValidation(event);
+        if (sagaExecutionController.isExpired(event)) {
+            productValidationService.failExpiredSaga(event);
+        } else {
+            dedupeCache.runForRecord(new TopicPartition(topic, partition), timestamp,
+                    () -> processedEventService.process(
+                            topic, event, productValidationService::handleEventAndPersistValidation));
+        }
+        acknowledgment.acknowledge();
     }
 
     @KafkaListener(
             groupId = "${spring.kafka.consumer.group-id}",
             topics = "${spring.kafka.topic.product-validation-fail}"
     )
-    public void consumeFailEvent(String payload) {
+    public void consumeFailEvent(String payload,
+                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                 Acknowledgment acknowledgment) {
         log.info("Receiving rollback event {} from product-validation-fail topic", payload);
         var event = jsonUtil.toEvent(payload);
-        productValidationService.rollBackEvent(event);
+        processedEventService.process(topic, event, productValidationService::rollBackEvent);
+        acknowledgment.acknowledge();
     }
 }
@@ -0,0 +1,28 @@
+package br.com.microservices.choreography.productvalidationservice.core.consumer;
+
+import br.com.microservices.choreography.productvalidationservice.core.service.StockReplica;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+
+@Slf4j
+@AllArgsConstructor
+@Component
+public class StockLevelConsumer {
+    private final StockReplica stockReplica;
+
+    @KafkaListener(
+            groupId = "${spring.kafka.consumer.group-id}-stock-#{T(java.util.UUID).randomUUID()}",
+            topics = "${spring.kafka.topic.inventory-stock}",
+            autoStartup = "${app.stock-check.enabled}",
+            properties = "auto.offset.reset=earliest"
+    )
+    public void consumeStockLevel(ConsumerRecord<String, String> record) {
+        log.debug("Receiving stock level {} for product {} from inventory-stock topic", record.value(), record.key());
+        stockReplica.update(record.key(), isEmpty(record.value()) ? null : Integer.valueOf(record.value()));
+    }
+}
@@ -24,6 +24,7 @@ public class Event {
     private String id;
     private String transactionId;
     private String orderId;
+    private LocalDateTime deadline;
 
     public void addHistory(History history) {
         if (isEmpty(eventHistory)) {
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @Entity
 @AllArgsConstructor
@@ -18,4 +20,7 @@ public class Product {
 
     @Column(nullable = false)
     private String code;
+
+    @Column(nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
 }
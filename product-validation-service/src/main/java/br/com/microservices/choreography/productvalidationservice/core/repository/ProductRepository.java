@@ -2,9 +2,20 @@ package br.com.microservices.choreography.productvalidationservice.core.reposito
 
 import br.com.microservices.choreography.productvalidationservice.core.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductRepository  extends JpaRepository<Product, Integer> {
 
     Boolean existsByCode(String code);
 
+    @Query("select p.code from Product p where p.code in :codes")
+    List<String> findCodesByCodeIn(@Param("codes") Collection<String> codes);
+
+    List<Product> findByUpdatedAtGreaterThanEqual(LocalDateTime updatedAt);
+
 }
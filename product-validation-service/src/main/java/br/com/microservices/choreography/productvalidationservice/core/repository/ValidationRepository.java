@@ -1,12 +1,20 @@
 package br.com.microservices.choreography.productvalidationservice.core.repository;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeKeySource;
 import br.com.microservices.choreography.productvalidationservice.core.model.Validation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
-public interface ValidationRepository extends JpaRepository<Validation, Integer> {
+public interface ValidationRepository extends JpaRepository<Validation, Integer>, DedupeKeySource {
 
     Boolean existsByOrderIdAndTransactionId(String orderId, String transactionId);
     Optional<Validation> findByOrderIdAndTransactionId(String orderId, String transactionId);
+
+    @Query("select concat(v.orderId, '_', v.transactionId) from Validation v where v.createdAt >= :createdAt")
+    List<String> findDedupeKeysCreatedSince(@Param("createdAt") LocalDateTime createdAt);
 }
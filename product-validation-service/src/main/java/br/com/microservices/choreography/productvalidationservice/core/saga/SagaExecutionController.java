@@ -1,15 +1,22 @@
 package br.com.microservices.choreography.productvalidationservice.core.saga;
 
 import br.com.microservices.choreography.productvalidationservice.core.dto.Event;
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaStatus;
+import br.com.microservices.choreography.productvalidationservice.core.enums.ESagaTopology;
 import static java.lang.String.format;
 
 import br.com.microservices.choreography.productvalidationservice.core.producer.KafkaProducer;
 import br.com.microservices.choreography.productvalidationservice.core.utils.JsonUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -18,6 +25,7 @@ public class SagaExecutionController {
 
     private final JsonUtil jsonUtil;
     private final KafkaProducer producer;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.kafka.topic.payment-success}")
     private String paymentSuccessTopic;
@@ -28,6 +36,37 @@ public class SagaExecutionController {
     @Value("${spring.kafka.topic.notify-ending}")
     private String notifyEndingTopic;
 
+    @Value("${spring.kafka.topic.inventory-success}")
+    private String inventorySuccessTopic;
+
+    @Value("${app.saga.topology}")
+    private ESagaTopology topology;
+
+    @Value("${app.saga.local-rollback.enabled}")
+    private boolean localRollbackEnabled;
+
+    public boolean isExpired(Event event) {
+        if (event.getDeadline() == null || LocalDateTime.now().isBefore(event.getDeadline())) {
+            return false;
+        }
+        log.info("### CURRENT SAGA: DEADLINE {} EXPIRED | FAILING FAST | {}", event.getDeadline(), createSagaId(event));
+        Counter.builder("saga.deadline.expired")
+                .description("Saga events failed fast because their deadline had passed")
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+
+    public void handleSaga(Event event, Consumer<Event> localRollback) {
+        if (localRollbackEnabled && ESagaStatus.ROLLBACK_PENDING.equals(event.getStatus())) {
+            log.info("### CURRENT SAGA: {} | ROLLING BACK CURRENT SERVICE IN PROCESS | SKIPPING TOPIC {} | {}",
+                    event.getSource(), productValidationFailTopic, createSagaId(event));
+            localRollback.accept(event);
+            return;
+        }
+        handleSaga(event);
+    }
+
     public void handleSaga(Event event) {
 
         switch (event.getStatus()) {
@@ -38,6 +77,14 @@ public class SagaExecutionController {
     }
 
     private void handleSuccess(Event event) {
+        if (ESagaTopology.PARALLEL.equals(topology)) {
+            log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPICS {} AND {} | {}",
+                    event.getSource(), paymentSuccessTopic, inventorySuccessTopic, createSagaId(event));
+            var payload = jsonUtil.toJson(event);
+            producer.sendEvent(payload, paymentSuccessTopic);
+            producer.sendEvent(payload, inventorySuccessTopic);
+            return;
+        }
         log.info("### CURRENT SAGA: {} | SUCCESS | NEXT TOPIC {} | {}",
                 event.getSource(), paymentSuccessTopic, createSagaId(event));
         sendEvent(event, paymentSuccessTopic);
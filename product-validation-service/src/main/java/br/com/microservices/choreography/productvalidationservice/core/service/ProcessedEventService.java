@@ -0,0 +1,115 @@
+package br.com.microservices.choreography.productvalidationservice.core.service;
+
+import br.com.microservices.choreography.productvalidationservice.core.dto.Event;
+import br.com.microservices.choreography.productvalidationservice.core.model.ProcessedEvent;
+import br.com.microservices.choreography.productvalidationservice.core.repository.ProcessedEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProcessedEventService {
+
+    private static final String PROCESSED_EVENT_ID = "%s_%s_%s";
+    private static final ThreadLocal<List<ProducedRecord>> PRODUCED_RECORDS = new ThreadLocal<>();
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.kafka.exactly-once.enabled}")
+    private boolean enabled;
+
+    @Value("${app.kafka.exactly-once.retention-hours}")
+    private long retentionHours;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void process(String topic, Event event, Consumer<Event> handler) {
+        if (!enabled) {
+            handler.accept(event);
+            return;
+        }
+        var id = format(PROCESSED_EVENT_ID, topic, event.getPayload().getId(), event.getTransactionId());
+        var processedEvent = processedEventRepository.findById(id);
+        if (processedEvent.isPresent()) {
+            log.info("Event {} from topic {} was already processed, re-sending its outcome.", event.getId(), topic);
+            resend(processedEvent.get());
+            return;
+        }
+        var producedRecords = new ArrayList<ProducedRecord>();
+        PRODUCED_RECORDS.set(producedRecords);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handler.accept(event);
+                save(id, producedRecords);
+            });
+        } catch (UnexpectedRollbackException ex) {
+            log.info("Database changes for event {} were rolled back, recording its failure outcome.", event.getId());
+            transactionTemplate.executeWithoutResult(status -> save(id, producedRecords));
+        } finally {
+            PRODUCED_RECORDS.remove();
+        }
+    }
+
+    public void recordSend(String topic, String payload) {
+        var producedRecords = PRODUCED_RECORDS.get();
+        if (producedRecords != null) {
+            producedRecords.add(new ProducedRecord(topic, payload));
+        }
+    }
+
+    @Scheduled(cron = "${app.kafka.exactly-once.cleanup-cron}")
+    public void deleteExpiredEvents() {
+        if (!enabled) {
+            return;
+        }
+        var deleted = processedEventRepository.deleteByCreatedAtBefore(LocalDateTime.now().minusHours(retentionHours));
+        log.info("Deleted {} processed events older than {} hours.", deleted, retentionHours);
+    }
+
+    private void save(String id, List<ProducedRecord> producedRecords) {
+        try {
+            processedEventRepository.save(ProcessedEvent
+                    .builder()
+                    .id(id)
+                    .outcome(objectMapper.writeValueAsString(producedRecords))
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Error trying to serialize the outcome of event " + id, ex);
+        }
+    }
+
+    private void resend(ProcessedEvent processedEvent) {
+        try {
+            objectMapper
+                    .readValue(processedEvent.getOutcome(), new TypeReference<List<ProducedRecord>>() { })
+                    .forEach(record -> kafkaTemplate.send(record.topic(), record.payload()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Error trying to read the outcome of event " + processedEvent.getId(), ex);
+        }
+    }
+
+    private record ProducedRecord(String topic, String payload) {
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.microservices.choreography.productvalidationservice.core.service;
+
+import br.com.microservices.choreography.productvalidationservice.core.model.Product;
+import br.com.microservices.choreography.productvalidationservice.core.repository.ProductRepository;
+import br.com.microservices.choreography.commons.dedupe.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogIndex {
+
+    private static final long SET_ENTRY_OVERHEAD_BYTES = 88;
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ProductRepository productRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.catalog.index.enabled}")
+    private boolean enabled;
+
+    @Value("${app.catalog.index.bloom-filter.enabled}")
+    private boolean bloomFilterEnabled;
+
+    @Value("${app.catalog.index.bloom-filter.false-positive-rate}")
+    private double falsePositiveRate;
+
+    @Value("${app.catalog.index.bloom-filter.headroom}")
+    private double bloomFilterHeadroom;
+
+    @Value("${app.catalog.index.refresh-overlap-ms}")
+    private long refreshOverlapMs;
+
+    private volatile Set<String> codes;
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime watermark;
+    private volatile Instant lastRefresh;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong memoryBytes = new AtomicLong();
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        reload();
+        Gauge.builder("product.catalog.size", size, AtomicLong::get)
+                .description("Products held by the in-memory catalog index")
+                .register(meterRegistry);
+        Gauge.builder("product.catalog.memory", memoryBytes, AtomicLong::get)
+                .description("Estimated memory used by the in-memory catalog index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("product.catalog.refresh.lag", this, ProductCatalogIndex::getRefreshLagSeconds)
+                .description("Time since the catalog index was last refreshed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean containsAll(Set<String> codes) {
+        var filter = bloomFilter;
+        if (filter != null && !codes.stream().allMatch(filter::mightContain)) {
+            return false;
+        }
+        return this.codes.containsAll(codes);
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.index.full-reload-interval-ms}",
+            initialDelayString = "${app.catalog.index.full-reload-interval-ms}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        var startedAt = Instant.now();
+        var products = productRepository.findAll();
+        Set<String> index = ConcurrentHashMap.newKeySet(products.size());
+        products.forEach(product -> index.add(product.getCode()));
+        var filter = bloomFilterEnabled ? createBloomFilter(products) : null;
+        codes = index;
+        bloomFilter = filter;
+        memoryBytes.set(estimateSetMemory(products) + (filter == null ? 0 : filter.sizeInBytes()));
+        size.set(products.size());
+        watermark = findWatermark(products, INITIAL_WATERMARK);
+        lastRefresh = startedAt;
+        log.info("Product catalog index loaded with {} products.", products.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.index.refresh-interval-ms}",
+            initialDelayString = "${app.catalog.index.refresh-interval-ms}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        var startedAt = Instant.now();
+        var changed = productRepository.findByUpdatedAtGreaterThanEqual(watermark.minusNanos(refreshOverlapMs * 1_000_000));
+        var filter = bloomFilter;
+        changed.forEach(product -> {
+            if (filter != null) {
+                filter.put(product.getCode());
+            }
+            if (codes.add(product.getCode())) {
+                size.incrementAndGet();
+                memoryBytes.addAndGet(SET_ENTRY_OVERHEAD_BYTES + product.getCode().length());
+            }
+        });
+        watermark = findWatermark(changed, watermark);
+        lastRefresh = startedAt;
+    }
+
+    private BloomFilter createBloomFilter(List<Product> products) {
+        var filter = new BloomFilter((long) (products.size() * bloomFilterHeadroom), falsePositiveRate);
+        products.forEach(product -> filter.put(product.getCode()));
+        return filter;
+    }
+
+    private double getRefreshLagSeconds() {
+        if (lastRefresh == null) {
+            return 0;
+        }
+        return Duration.between(lastRefresh, Instant.now()).toMillis() / 1000.0;
+    }
+
+    private LocalDateTime findWatermark(List<Product> products, LocalDateTime current) {
+        return products
+                .stream()
+                .map(Product::getUpdatedAt)
+                .reduce(current, (first, second) -> first.isAfter(second) ? first : second);
+    }
+
+    private long estimateSetMemory(List<Product> products) {
+        return products
+                .stream()
+                .mapToLong(product -> SET_ENTRY_OVERHEAD_BYTES + product.getCode().length())
+                .sum();
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.microservices.choreography.productvalidationservice.core.service;
 
+import br.com.microservices.choreography.commons.dedupe.DedupeCache;
 import br.com.microservices.choreography.productvalidationservice.config.exception.ValidationException;
 import br.com.microservices.choreography.productvalidationservice.core.dto.Event;
 import br.com.microservices.choreography.productvalidationservice.core.dto.History;
@@ -9,23 +10,34 @@ import br.com.microservices.choreography.productvalidationservice.core.repositor
 import br.com.microservices.choreography.productvalidationservice.core.repository.ValidationRepository;
 import br.com.microservices.choreography.productvalidationservice.core.dto.OrderProducts;
 import br.com.microservices.choreography.productvalidationservice.core.saga.SagaExecutionController;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 
 @Slf4j
 @Service
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class ProductValidationService {
 
     private static final String CURRENT_SOURCE = "PRODUCT_VALIDATION_SERVICE";
     private final ProductRepository productRepository;
+    private final ProductCatalogIndex productCatalogIndex;
+    private final StockReplica stockReplica;
     private final ValidationRepository validationRepository;
     private final SagaExecutionController sagaExecutionController;
+    private final ProcessedEventService processedEventService;
+    private final DedupeCache dedupeCache;
+
+    @Value("${app.saga.chunk-size}")
+    private int chunkSize;
 
     public void handleEventAndPersistValidation(Event event) {
         try{
@@ -36,7 +48,7 @@ public class ProductValidationService {
             log.error("Error trying to validate product: ", ex);
             handleValidationFailure(event, ex.getMessage());
         }
-        sagaExecutionController.handleSaga(event);
+        sagaExecutionController.handleSaga(event, this::rollBackEvent);
     }
 
     private void createValidationRecord(Event event, boolean success) {
@@ -56,6 +68,13 @@ public class ProductValidationService {
         addHistory(event, "Products are validated successfully!");
     }
 
+    public void failExpiredSaga(Event event) {
+        event.setStatus(ESagaStatus.FAIL);
+        event.setSource(CURRENT_SOURCE);
+        addHistory(event, "Saga deadline expired, products were not validated.");
+        sagaExecutionController.handleSaga(event);
+    }
+
     private void addHistory(Event event, String message) {
         var history = History
                 .builder()
@@ -70,25 +89,50 @@ public class ProductValidationService {
 
     private void checkForExistingValidation(Event event) {
         validateOrderProducts(event);
-        if (validationRepository.existsByOrderIdAndTransactionId(
-                event.getOrderId(), event.getTransactionId())) {
+        if (!processedEventService.isEnabled() && isExistingValidation(event.getOrderId(), event.getTransactionId())) {
             throw new ValidationException("There's another transactionId for this validation.");
         }
-        event.getPayload().getProducts().forEach(orderProduct -> {
-            validateProduct(orderProduct);
-        });
+        validateProducts(event.getPayload().getProducts());
+        validateStockFeasibility(event);
+    }
+
+    private boolean isExistingValidation(String orderId, String transactionId) {
+        return dedupeCache.exists(orderId, transactionId,
+                () -> validationRepository.existsByOrderIdAndTransactionId(orderId, transactionId));
     }
 
-    private void validateProduct(OrderProducts orderProduct) {
-        if (isEmpty(orderProduct.getProduct()) || isEmpty(orderProduct.getProduct().getCode())) {
-            throw new ValidationException("Product must be informed!");
+    private void validateStockFeasibility(Event event) {
+        if (stockReplica.isEnabled() && !stockReplica.canFulfill(event.getPayload().getProducts())) {
+            throw new ValidationException("Product is out of stock.");
         }
+    }
+
+    private void validateProducts(List<OrderProducts> products) {
+        for (var from = 0; from < products.size(); from += chunkSize) {
+            validateProductChunk(products.subList(from, Math.min(from + chunkSize, products.size())));
+        }
+    }
 
-        if (!productRepository.existsByCode(orderProduct.getProduct().getCode())) {
+    private void validateProductChunk(List<OrderProducts> chunk) {
+        var codes = new HashSet<String>();
+        chunk.forEach(orderProduct -> {
+            if (isEmpty(orderProduct.getProduct()) || isEmpty(orderProduct.getProduct().getCode())) {
+                throw new ValidationException("Product must be informed!");
+            }
+            codes.add(orderProduct.getProduct().getCode());
+        });
+        if (!productsExist(codes)) {
             throw new ValidationException("Product does not exists in database!");
         }
     }
 
+    private boolean productsExist(Set<String> codes) {
+        if (productCatalogIndex.isEnabled()) {
+            return productCatalogIndex.containsAll(codes);
+        }
+        return new HashSet<>(productRepository.findCodesByCodeIn(codes)).containsAll(codes);
+    }
+
     private void validateOrderProducts(Event event) {
         if (isEmpty(event.getPayload()) || isEmpty(event.getPayload().getProducts())) {
             throw new ValidationException("Product list is empty!");
@@ -0,0 +1,45 @@
+package br.com.microservices.choreography.productvalidationservice.core.service;
+
+import br.com.microservices.choreography.productvalidationservice.core.dto.OrderProducts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class StockReplica {
+
+    private final Map<String, Integer> availableByProduct = new ConcurrentHashMap<>();
+
+    @Value("${app.stock-check.enabled}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void update(String productCode, Integer available) {
+        if (available == null) {
+            availableByProduct.remove(productCode);
+        } else {
+            availableByProduct.put(productCode, available);
+        }
+    }
+
+    public boolean canFulfill(List<OrderProducts> products) {
+        var quantities = new HashMap<String, Integer>();
+        products.forEach(product -> quantities.merge(product.getProduct().getCode(), product.getQuantity(), Integer::sum));
+        return quantities
+                .entrySet()
+                .stream()
+                .allMatch(quantity -> {
+                    var available = availableByProduct.get(quantity.getKey());
+                    return available == null || quantity.getValue() <= available;
+                });
+    }
+}
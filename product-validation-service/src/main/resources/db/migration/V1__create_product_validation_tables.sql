@@ -0,0 +1,19 @@
+CREATE SEQUENCE validation_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE product (
+    id   INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(255) NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_product_code ON product (code);
+
+CREATE TABLE validation (
+    id             INTEGER      NOT NULL PRIMARY KEY,
+    order_id       VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    success        BOOLEAN      NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_validation_order_id_transaction_id ON validation (order_id, transaction_id);
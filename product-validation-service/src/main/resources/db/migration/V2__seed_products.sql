@@ -0,0 +1,4 @@
+INSERT INTO product (code) VALUES ('COMIC_BOOKS');
+INSERT INTO product (code) VALUES ('BOOKS');
+INSERT INTO product (code) VALUES ('MOVIES');
+INSERT INTO product (code) VALUES ('MUSIC');
@@ -0,0 +1,14 @@
+ALTER TABLE product ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT now();
+
+CREATE INDEX ix_product_updated_at ON product (updated_at);
+
+CREATE FUNCTION set_product_updated_at() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at := now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tr_product_updated_at
+    BEFORE INSERT OR UPDATE ON product
+    FOR EACH ROW EXECUTE FUNCTION set_product_updated_at();
@@ -0,0 +1,7 @@
+CREATE TABLE processed_event (
+    id         VARCHAR(255) NOT NULL PRIMARY KEY,
+    outcome    TEXT         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX ix_processed_event_created_at ON processed_event (created_at);
@@ -0,0 +1,81 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BloomFilter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        var insertions = Math.max(1, expectedInsertions);
+        var optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        bitSize = (long) bits.length() * 64;
+        hashFunctions = Math.max(1, (int) Math.round((double) bitSize / insertions * Math.log(2)));
+    }
+
+    public void put(String value) {
+        var hash = hash(value);
+        var first = (int) hash;
+        var second = (int) (hash >>> 32);
+        for (var index = 0; index < hashFunctions; index++) {
+            var bit = Math.floorMod(first + (long) index * second, bitSize);
+            setBit(bit);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        var hash = hash(value);
+        var first = (int) hash;
+        var second = (int) (hash >>> 32);
+        for (var index = 0; index < hashFunctions; index++) {
+            var bit = Math.floorMod(first + (long) index * second, bitSize);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bitSize / 8;
+    }
+
+    public double expectedFalsePositiveRate() {
+        var setBits = 0L;
+        for (var index = 0; index < bits.length(); index++) {
+            setBits += Long.bitCount(bits.get(index));
+        }
+        return Math.pow((double) setBits / bitSize, hashFunctions);
+    }
+
+    private void setBit(long bit) {
+        var word = (int) (bit >>> 6);
+        var mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private long hash(String value) {
+        var hash = FNV_OFFSET_BASIS;
+        for (var octet : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= octet & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static java.lang.String.format;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DedupeCache implements ConsumerAwareRebalanceListener {
+
+    private static final String DEDUPE_KEY = "%s_%s";
+    private static final ThreadLocal<RecordScope> CURRENT_RECORD = new ThreadLocal<>();
+
+    private final DedupeKeySource dedupeKeySource;
+    private final MeterRegistry meterRegistry;
+    private final Set<TopicPartition> ownedPartitions = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.dedupe-cache.enabled}")
+    private boolean enabled;
+
+    @Value("${app.dedupe-cache.buckets}")
+    private int buckets;
+
+    @Value("${app.dedupe-cache.bucket-interval-ms}")
+    private long bucketIntervalMs;
+
+    @Value("${app.dedupe-cache.expected-insertions-per-bucket}")
+    private long expectedInsertionsPerBucket;
+
+    @Value("${app.dedupe-cache.false-positive-rate}")
+    private double falsePositiveRate;
+
+    @Value("${app.dedupe-cache.warm-up-overlap-ms}")
+    private long warmUpOverlapMs;
+
+    private volatile List<BloomFilter> filters;
+    private LocalDateTime warmedUpAt;
+    private Counter newLookups;
+    private Counter possibleDuplicateLookups;
+    private Counter unownedLookups;
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        var initialFilters = new LinkedList<BloomFilter>();
+        for (var bucket = 0; bucket < buckets; bucket++) {
+            initialFilters.add(createFilter());
+        }
+        filters = initialFilters;
+        newLookups = createLookupCounter("new");
+        possibleDuplicateLookups = createLookupCounter("possible_duplicate");
+        unownedLookups = createLookupCounter("unowned");
+        falsePositives = Counter.builder("dedupe.cache.false.positives")
+                .description("Possible duplicates that the database confirmed as new")
+                .register(meterRegistry);
+        Gauge.builder("dedupe.cache.memory", this, DedupeCache::getMemoryBytes)
+                .description("Memory used by the dedupe cache filters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("dedupe.cache.false.positive.rate.expected", this, DedupeCache::getExpectedFalsePositiveRate)
+                .description("False-positive rate expected from the current filter fill")
+                .register(meterRegistry);
+        warmUp(LocalDateTime.now().minusNanos(buckets * bucketIntervalMs * 1_000_000));
+    }
+
+    public void runForRecord(TopicPartition partition, long timestamp, Runnable task) {
+        var previous = CURRENT_RECORD.get();
+        CURRENT_RECORD.set(new RecordScope(partition, timestamp));
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT_RECORD.remove();
+            } else {
+                CURRENT_RECORD.set(previous);
+            }
+        }
+    }
+
+    public boolean exists(String orderId, String transactionId, BooleanSupplier query) {
+        if (!enabled) {
+            return query.getAsBoolean();
+        }
+        var key = format(DEDUPE_KEY, orderId, transactionId);
+        var currentFilters = filters;
+        if (!isCoveredByFilters()) {
+            unownedLookups.increment();
+            var exists = query.getAsBoolean();
+            if (!exists) {
+                currentFilters.get(0).put(key);
+            }
+            return exists;
+        }
+        if (currentFilters.stream().noneMatch(filter -> filter.mightContain(key))) {
+            newLookups.increment();
+            currentFilters.get(0).put(key);
+            return false;
+        }
+        possibleDuplicateLookups.increment();
+        var exists = query.getAsBoolean();
+        if (!exists) {
+            falsePositives.increment();
+            currentFilters.get(0).put(key);
+        }
+        return exists;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (!enabled || partitions.isEmpty()) {
+            return;
+        }
+        warmUp(lastWarmUpWithOverlap());
+        ownedPartitions.addAll(partitions);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        ownedPartitions.removeAll(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        ownedPartitions.removeAll(partitions);
+    }
+
+    @Scheduled(fixedDelayString = "${app.dedupe-cache.bucket-interval-ms}",
+            initialDelayString = "${app.dedupe-cache.bucket-interval-ms}")
+    public void rotate() {
+        if (!enabled) {
+            return;
+        }
+        var rotatedFilters = new LinkedList<>(filters);
+        rotatedFilters.addFirst(createFilter());
+        rotatedFilters.removeLast();
+        filters = rotatedFilters;
+    }
+
+    private boolean isCoveredByFilters() {
+        var record = CURRENT_RECORD.get();
+        return record != null
+                && ownedPartitions.contains(record.partition())
+                && System.currentTimeMillis() - record.timestamp() < (buckets - 1) * bucketIntervalMs;
+    }
+
+    private synchronized LocalDateTime lastWarmUpWithOverlap() {
+        return warmedUpAt.minusNanos(warmUpOverlapMs * 1_000_000);
+    }
+
+    private synchronized void warmUp(LocalDateTime since) {
+        var startedAt = LocalDateTime.now();
+        var keys = dedupeKeySource.findDedupeKeysCreatedSince(since);
+        var currentFilter = filters.get(0);
+        keys.forEach(currentFilter::put);
+        warmedUpAt = startedAt;
+        log.info("Dedupe cache warmed with {} keys created since {}.", keys.size(), since);
+    }
+
+    private BloomFilter createFilter() {
+        return new BloomFilter(expectedInsertionsPerBucket, falsePositiveRate);
+    }
+
+    private Counter createLookupCounter(String result) {
+        return Counter.builder("dedupe.cache.lookups")
+                .description("Dedupe cache lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private double getMemoryBytes() {
+        return filters.stream().mapToLong(BloomFilter::sizeInBytes).sum();
+    }
+
+    private double getExpectedFalsePositiveRate() {
+        var newRate = filters
+                .stream()
+                .mapToDouble(filter -> 1 - filter.expectedFalsePositiveRate())
+                .reduce(1, (first, second) -> first * second);
+        return 1 - newRate;
+    }
+
+    private record RecordScope(TopicPartition partition, long timestamp) {
+    }
+}
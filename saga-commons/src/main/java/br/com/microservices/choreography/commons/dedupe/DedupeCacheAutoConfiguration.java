@@ -0,0 +1,16 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+public class DedupeCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DedupeCache dedupeCache(DedupeKeySource dedupeKeySource, MeterRegistry meterRegistry) {
+        return new DedupeCache(dedupeKeySource, meterRegistry);
+    }
+}
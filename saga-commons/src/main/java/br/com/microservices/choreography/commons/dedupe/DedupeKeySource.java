@@ -0,0 +1,9 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DedupeKeySource {
+
+    List<String> findDedupeKeysCreatedSince(LocalDateTime createdAt);
+}
@@ -0,0 +1,61 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void neverReportsAnInsertedValueAsMissing() {
+        var filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        IntStream.range(0, INSERTIONS).forEach(index -> filter.put("order-" + index));
+
+        assertThat(IntStream.range(0, INSERTIONS).allMatch(index -> filter.mightContain("order-" + index))).isTrue();
+    }
+
+    @Test
+    void keepsFalsePositivesCloseToTheConfiguredRate() {
+        var filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+        IntStream.range(0, INSERTIONS).forEach(index -> filter.put("order-" + index));
+
+        var falsePositives = IntStream
+                .range(0, INSERTIONS)
+                .filter(index -> filter.mightContain("other-" + index))
+                .count();
+
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(FALSE_POSITIVE_RATE * 2);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(FALSE_POSITIVE_RATE * 2);
+    }
+
+    @Test
+    void reportsNothingWhenEmpty() {
+        var filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+
+        assertThat(filter.mightContain("order-1")).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void sizesItsBitArrayFromTheExpectedInsertions() {
+        var small = new BloomFilter(1_000, FALSE_POSITIVE_RATE);
+        var large = new BloomFilter(100_000, FALSE_POSITIVE_RATE);
+
+        assertThat(small.sizeInBytes()).isGreaterThanOrEqualTo(1_000 * 9 / 8);
+        assertThat(large.sizeInBytes()).isGreaterThan(small.sizeInBytes() * 90);
+    }
+
+    @Test
+    void acceptsConcurrentInsertions() {
+        var filter = new BloomFilter(INSERTIONS, FALSE_POSITIVE_RATE);
+
+        IntStream.range(0, INSERTIONS).parallel().forEach(index -> filter.put("order-" + index));
+
+        assertThat(IntStream.range(0, INSERTIONS).allMatch(index -> filter.mightContain("order-" + index))).isTrue();
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.microservices.choreography.commons.dedupe;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DedupeCacheTest {
+
+    private static final int BUCKETS = 3;
+    private static final long BUCKET_INTERVAL_MS = 60_000;
+    private static final TopicPartition PARTITION = new TopicPartition("payment-success", 0);
+
+    private final DedupeKeySource dedupeKeySource = mock(DedupeKeySource.class);
+    private final AtomicInteger queries = new AtomicInteger();
+    private DedupeCache dedupeCache;
+
+    @BeforeEach
+    void createDedupeCache() {
+        when(dedupeKeySource.findDedupeKeysCreatedSince(any(LocalDateTime.class))).thenReturn(List.of());
+        dedupeCache = new DedupeCache(dedupeKeySource, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dedupeCache, "enabled", true);
+        ReflectionTestUtils.setField(dedupeCache, "buckets", BUCKETS);
+        ReflectionTestUtils.setField(dedupeCache, "bucketIntervalMs", BUCKET_INTERVAL_MS);
+        ReflectionTestUtils.setField(dedupeCache, "expectedInsertionsPerBucket", 1_000L);
+        ReflectionTestUtils.setField(dedupeCache, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(dedupeCache, "warmUpOverlapMs", 1_000L);
+        dedupeCache.initialize();
+    }
+
+    @Test
+    void answersNewKeysFromTheFilterForOwnedPartitions() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+
+        assertThat(existsForRecord("order-1", System.currentTimeMillis())).isFalse();
+        assertThat(queries).hasValue(0);
+    }
+
+    @Test
+    void confirmsPossibleDuplicatesWithTheDatabase() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void queriesTheDatabaseOutsideARecordScope() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+
+        dedupeCache.exists("order-1", "transaction-1", this::query);
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void queriesTheDatabaseForPartitionsItDoesNotOwn() {
+        assertThat(existsForRecord("order-1", System.currentTimeMillis())).isFalse();
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void stopsTrustingThePartitionOnceItIsRevoked() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+        dedupeCache.onPartitionsRevokedBeforeCommit(null, List.of(PARTITION));
+
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void stopsTrustingThePartitionOnceItIsLost() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+        dedupeCache.onPartitionsLost(null, List.of(PARTITION));
+
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void queriesTheDatabaseForRecordsOlderThanTheFilterWindow() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+
+        existsForRecord("order-1", System.currentTimeMillis() - (BUCKETS - 1) * BUCKET_INTERVAL_MS);
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void warmsUpWithKeysProcessedBeforeTheAssignment() {
+        when(dedupeKeySource.findDedupeKeysCreatedSince(any(LocalDateTime.class)))
+                .thenReturn(List.of("order-1_transaction-1"));
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void remembersKeysUntilTheirBucketRotatesOut() {
+        dedupeCache.onPartitionsAssigned(null, List.of(PARTITION));
+        existsForRecord("order-1", System.currentTimeMillis());
+
+        for (var rotation = 0; rotation < BUCKETS - 1; rotation++) {
+            dedupeCache.rotate();
+        }
+        existsForRecord("order-1", System.currentTimeMillis());
+        assertThat(queries).hasValue(1);
+
+        existsForRecord("order-2", System.currentTimeMillis());
+        for (var rotation = 0; rotation < BUCKETS; rotation++) {
+            dedupeCache.rotate();
+        }
+        existsForRecord("order-2", System.currentTimeMillis());
+        assertThat(queries).hasValue(1);
+    }
+
+    private boolean existsForRecord(String orderId, long timestamp) {
+        var exists = new boolean[1];
+        dedupeCache.runForRecord(PARTITION, timestamp,
+                () -> exists[0] = dedupeCache.exists(orderId, "transaction-1", this::query));
+        return exists[0];
+    }
+
+    private boolean query() {
+        queries.incrementAndGet();
+        return false;
+    }
+}